@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/* This class generates word lists for the benchmarks
+ * A quarter of the words are random base words of 3 to 10 letters
+ * The rest are compounds of 2 to maxDepth base words, and half of them get an extra letter that breaks the split
+ * The seed is fixed, so every run of a benchmark sees the same words */
+public class SyntheticDictionary {
+
+	private static final long SEED = 20170316L ;
+
+	private final List<String> words ;				// All the words in file order
+
+	public SyntheticDictionary(int size, int maxDepth) {
+		Random random = new Random(SEED) ;
+		int baseCount = Math.max(1, size / 4) ;
+		words = new ArrayList<>(size) ;
+		for(int i=0 ; i<baseCount ; i++) {
+			words.add(randomWord(random, 3 + random.nextInt(8))) ;
+		}
+		StringBuilder compound = new StringBuilder() ;
+		while(words.size() < size) {
+			compound.setLength(0) ;
+			int depth = 2 + random.nextInt(Math.max(1, maxDepth - 1)) ;
+			for(int i=0 ; i<depth ; i++) {
+				compound.append(words.get(random.nextInt(baseCount))) ;
+			}
+			if(random.nextBoolean()) {
+				compound.insert(random.nextInt(compound.length()), (char) ('a' + random.nextInt(26))) ;
+			}
+			words.add(compound.toString()) ;
+		}
+	}
+
+	// Getter for the words
+	public List<String> getWords() {
+		return words ;
+	}
+
+	// This method writes the words to a temporary file, one word per line, and returns its path
+	public Path writeTempFile() throws IOException {
+		Path path = Files.createTempFile("synthetic-words", ".txt") ;
+		path.toFile().deleteOnExit() ;
+		try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			for(String word : words) {
+				writer.write(word) ;
+				writer.newLine() ;
+			}
+		}
+		return path ;
+	}
+
+	// This method returns a word of random lower case letters
+	private static String randomWord(Random random, int length) {
+		char[] chars = new char[length] ;
+		for(int i=0 ; i<length ; i++) {
+			chars[i] = (char) ('a' + random.nextInt(26)) ;
+		}
+		return new String(chars) ;
+	}
+}
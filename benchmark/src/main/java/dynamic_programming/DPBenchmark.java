@@ -0,0 +1,123 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import benchmark.SyntheticDictionary;
+import common.TopKCollector;
+
+/* JMH benchmarks of the DP engine
+ * ingest: makeDictionary() on the generated file
+ * checkTable / checkLinear: isConcatenated() of every word, per mode, on a loaded dictionary
+ * endToEnd: a new finder loading the file and checking every word, per mode (the only benchmark with a mode parameter)
+ * Run with -prof gc to get the allocation rate of every benchmark */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DPBenchmark {
+
+	@Param({"10000", "100000"})
+	private int size ;								// Number of words in the generated dictionary
+
+	@Param({"2", "4"})
+	private int depth ;								// Maximum number of base words in a compound
+
+	private Path path ;
+	private List<String> words ;
+	private ConcatenatedWordsFinder_DP loaded ;		// Finder with the dictionary loaded, used by the per-word checks
+	private WordSource source ;						// The generated words by id, checked by linearCheck
+	private IntPredicate linearCheck ;				// LinearWordBreak of the loaded dictionary
+	private PrintStream stdout ;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		// The finders print statistics while loading, which would flood the benchmark output
+		stdout = System.out ;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		})) ;
+		SyntheticDictionary dictionary = new SyntheticDictionary(size, depth) ;
+		words = dictionary.getWords() ;
+		path = dictionary.writeTempFile() ;
+		loaded = newFinder(CheckMode.LINEAR) ;
+		loaded.makeDictionary(path.toString()) ;
+		loaded.prepareLinearWordBreak() ;
+		source = WordSource.of(words.toArray(new String[words.size()])) ;
+		linearCheck = loaded.newChecker(source) ;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		System.setOut(stdout) ;
+		Files.deleteIfExists(path) ;
+	}
+
+	@Benchmark
+	public ConcatenatedWordsFinder_DP ingest() {
+		ConcatenatedWordsFinder_DP finder = newFinder(CheckMode.LINEAR) ;
+		finder.makeDictionary(path.toString()) ;
+		return finder ;
+	}
+
+	@Benchmark
+	public void checkTable(Blackhole blackhole) {
+		for(String word : words) {
+			blackhole.consume(loaded.isConcatenated(word)) ;
+		}
+	}
+
+	@Benchmark
+	public void checkLinear(Blackhole blackhole) {
+		for(int id=0 ; id<source.size() ; id++) {
+			blackhole.consume(linearCheck.test(id)) ;
+		}
+	}
+
+	@Benchmark
+	public ConcatenatedWordsFinder_DP endToEnd(ModeState state) {
+		ConcatenatedWordsFinder_DP finder = newFinder(CheckMode.valueOf(state.mode.toUpperCase())) ;
+		finder.makeDictionary(path.toString()) ;
+		finder.getLargestSplittableWord() ;
+		return finder ;
+	}
+
+	// Creates a sequential finder of the two longest words
+	private static ConcatenatedWordsFinder_DP newFinder(CheckMode mode) {
+		return new ConcatenatedWordsFinder_DP(mode, 1, false, 2, TopKCollector.TieBreak.LEXICOGRAPHIC) ;
+	}
+
+	/* The check mode of the end-to-end run. It is a separate state, so the other benchmarks
+	 * (which do not depend on the mode) are not run once per mode */
+	@State(Scope.Benchmark)
+	public static class ModeState {
+
+		@Param({"linear", "table"})
+		public String mode ;
+	}
+}
@@ -0,0 +1,132 @@
+package suffixtree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import benchmark.SyntheticDictionary;
+import common.TopKCollector;
+
+/* JMH benchmarks of the PrefixTree engine
+ * ingest: makeTrie() on the generated file
+ * getSuffixes / getSuffixOffsets / containsWord: the Trie lookups of every word on a built Trie
+ * endToEnd: a new finder building the Trie, preparing and processing the suffix queue
+ * The trie parameter picks CompactTrie or the TrieNode graph. Run with -prof gc to get the allocation rate */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrefixTreeBenchmark {
+
+	@Param({"10000", "100000"})
+	private int size ;								// Number of words in the generated dictionary
+
+	@Param({"2", "4"})
+	private int depth ;								// Maximum number of base words in a compound
+
+	@Param({"compact", "node"})
+	private String trie ;							// The Trie implementation
+
+	private Path path ;
+	private List<String> words ;
+	private Trie root ;								// Trie holding all the words, used by the lookups
+	private int[] offsets ;							// Output buffer of getSuffixOffsets(), as long as the longest word
+	private PrintStream stdout ;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		// The finders print statistics, which would flood the benchmark output
+		stdout = System.out ;
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+		})) ;
+		SyntheticDictionary dictionary = new SyntheticDictionary(size, depth) ;
+		words = dictionary.getWords() ;
+		path = dictionary.writeTempFile() ;
+		root = isCompact() ? new CompactTrie() : new TrieNode('*') ;
+		for(String word : words) {
+			root.insertWord(word) ;
+		}
+		root.freeze() ;
+		int maxLength = 0 ;
+		for(String word : words) {
+			maxLength = Math.max(maxLength, word.length()) ;
+		}
+		offsets = new int[maxLength] ;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		System.setOut(stdout) ;
+		Files.deleteIfExists(path) ;
+	}
+
+	@Benchmark
+	public ConcatenatedWordsFinder_PrefixTree ingest() {
+		ConcatenatedWordsFinder_PrefixTree finder = newFinder() ;
+		finder.makeTrie(path.toString()) ;
+		return finder ;
+	}
+
+	@Benchmark
+	public void getSuffixes(Blackhole blackhole) {
+		for(String word : words) {
+			blackhole.consume(root.getSuffixes(word)) ;
+		}
+	}
+
+	@Benchmark
+	public void getSuffixOffsets(Blackhole blackhole) {
+		for(String word : words) {
+			blackhole.consume(root.getSuffixOffsets(word, 0, offsets)) ;
+		}
+	}
+
+	@Benchmark
+	public void containsWord(Blackhole blackhole) {
+		for(String word : words) {
+			blackhole.consume(root.containsWord(word)) ;
+		}
+	}
+
+	@Benchmark
+	public ConcatenatedWordsFinder_PrefixTree endToEnd() {
+		ConcatenatedWordsFinder_PrefixTree finder = newFinder() ;
+		finder.makeTrie(path.toString()) ;
+		finder.prepareSuffixQueue() ;
+		finder.processPrefixList() ;
+		return finder ;
+	}
+
+	private boolean isCompact() {
+		return "compact".equals(trie) ;
+	}
+
+	// Creates a sequential finder of the two longest words
+	private ConcatenatedWordsFinder_PrefixTree newFinder() {
+		return new ConcatenatedWordsFinder_PrefixTree(isCompact(), 1, false, 2, TopKCollector.TieBreak.LEXICOGRAPHIC) ;
+	}
+}
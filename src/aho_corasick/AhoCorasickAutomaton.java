@@ -0,0 +1,225 @@
+package aho_corasick;
+
+import java.util.Arrays;
+
+/* This class is an Aho-Corasick automaton over the dictionary, stored in primitive arrays
+ * One scan of a word visits one state per character and reports every dictionary word ending at every position,
+ * thus all the occurrences of all the words in a word of length n are found in O(n + occurrences)
+ *
+ * The words are first inserted in a Trie of linked children (as in CompactTrie), then build() renumbers the nodes
+ * in breadth-first order, so the children of a node are consecutive and sorted by character (binary search),
+ * and computes for every node:
+ * fail: the node of the longest proper suffix of the node's path that is also a path of the Trie
+ * output: the nearest node on the fail chain that ends a word (the next shorter word ending at the same position)
+ * After build() the automaton is only read, so many threads can scan words at the same time */
+class AhoCorasickAutomaton {
+
+	private static final int NONE = -1 ;				// Marks a missing node
+	private static final int ROOT = 0 ;
+
+	// Arrays of the Trie while the words are inserted
+	private char[] letter = new char[1024] ;			// The node character
+	private int[] firstChild = new int[1024] ;			// The first child of the node (linked list while inserting)
+	private int[] nextSibling = new int[1024] ;			// The next child of the node's parent
+	private int[] wordLength = new int[1024] ;			// Length of the word ending at the node, 0 if none
+	private int nodeCount = 0 ;
+	private int maxLength = 0 ;
+
+	// Arrays of the automaton, indexed by the breadth-first node number
+	private int[] childStart ;							// The first child of the node
+	private int[] childCount ;							// The number of children of the node
+	private int[] fail ;								// The failure link of the node
+	private int[] output ;								// The next node on the fail chain ending a word, or NONE
+	private boolean built = false ;
+
+	// Default access constructor for package only access
+	AhoCorasickAutomaton() {
+		newNode('*') ;									// The root stores a dummy asterisk character
+	}
+
+	// This method inserts word[from, to) and returns false if the word was already present
+	boolean insertWord(final CharSequence word, final int from, final int to) {
+		if(built) {
+			throw new IllegalStateException("The automaton is built") ;
+		}
+		int node = ROOT ;
+		for(int i=from ; i<to ; i++) {
+			char curr = word.charAt(i) ;
+			int child = firstChild[node] ;
+			while(child != NONE && letter[child] != curr) {
+				child = nextSibling[child] ;
+			}
+			if(child == NONE) {
+				child = newNode(curr) ;
+				nextSibling[child] = firstChild[node] ;
+				firstChild[node] = child ;
+			}
+			node = child ;
+		}
+		if(wordLength[node] > 0 || to == from) {
+			return false ;
+		}
+		wordLength[node] = to - from ;
+		maxLength = Math.max(maxLength, to - from) ;
+		return true ;
+	}
+
+	/* This method renumbers the nodes breadth-first with sorted children and computes the fail and output links
+	 * A node is numbered after all the nodes of smaller depth, thus its fail node (which is shallower) is complete */
+	void build() {
+		int[] order = new int[nodeCount] ;				// Old node of every new number
+		int[] renumber = new int[nodeCount] ;			// New number of every old node
+		int[] buffer = new int[16] ;
+		char[] newLetter = new char[nodeCount] ;
+		int[] newWordLength = new int[nodeCount] ;
+		childStart = new int[nodeCount] ;
+		childCount = new int[nodeCount] ;
+		order[0] = ROOT ;
+		renumber[ROOT] = 0 ;
+		int assigned = 1 ;
+		for(int head=0 ; head<assigned ; head++) {
+			int old = order[head] ;
+			newLetter[head] = letter[old] ;
+			newWordLength[head] = wordLength[old] ;
+			int count = 0 ;
+			for(int child = firstChild[old] ; child != NONE ; child = nextSibling[child]) {
+				if(count == buffer.length) {
+					buffer = Arrays.copyOf(buffer, count * 2) ;
+				}
+				buffer[count++] = child ;
+			}
+			sortByLetter(buffer, count) ;
+			childStart[head] = assigned ;
+			childCount[head] = count ;
+			for(int i=0 ; i<count ; i++) {
+				order[assigned] = buffer[i] ;
+				renumber[buffer[i]] = assigned++ ;
+			}
+		}
+		letter = newLetter ;
+		wordLength = newWordLength ;
+		firstChild = null ;								// The linked lists are not needed any more
+		nextSibling = null ;
+
+		fail = new int[nodeCount] ;
+		output = new int[nodeCount] ;
+		fail[ROOT] = ROOT ;
+		output[ROOT] = NONE ;
+		for(int node=0 ; node<nodeCount ; node++) {
+			for(int child = childStart[node] ; child < childStart[node] + childCount[node] ; child++) {
+				int link = ROOT ;
+				if(node != ROOT) {
+					link = next(fail[node], letter[child]) ;
+				}
+				fail[child] = link ;
+				output[child] = (wordLength[link] > 0) ? link : output[link] ;
+			}
+		}
+		built = true ;
+	}
+
+	/* This method finds whether the word is a concatenation of at least two words of the automaton
+	 * The word is scanned once. At every position, each word ending there extends the reachable starts:
+	 * reachable[end] is true if reachable[end - length] is true for a word of that length ending at end
+	 * The word itself is never its own part. The reachable array must have room for (length + 1) entries */
+	boolean isConcatenated(final CharSequence word, final boolean[] reachable) {
+		int n = word.length() ;
+		if(n < 2) {
+			return false ;
+		}
+		Arrays.fill(reachable, 0, n + 1, false) ;
+		reachable[0] = true ;
+		int state = ROOT ;
+		for(int i=0 ; i<n ; i++) {
+			state = next(state, word.charAt(i)) ;
+			int end = i + 1 ;
+			// The words ending at end, from the longest down the output chain
+			for(int match = (wordLength[state] > 0) ? state : output[state] ; match != NONE && ! reachable[end] ; match = output[match]) {
+				int start = end - wordLength[match] ;
+				if(reachable[start] && ! (start == 0 && end == n)) {
+					reachable[end] = true ;
+				}
+			}
+		}
+		return reachable[n] ;
+	}
+
+	// Getter for the length of the longest word
+	int getMaxLength() {
+		return maxLength ;
+	}
+
+	// Getter for the number of nodes
+	int getNodeCount() {
+		return nodeCount ;
+	}
+
+	// Returns the bytes held by the arrays of the built automaton
+	long getBytes() {
+		return (long) nodeCount * (2 + 4 * 5) ;
+	}
+
+	// This method follows the goto function from the state, falling back along the fail links
+	private int next(int state, final char ch) {
+		while(true) {
+			int child = child(state, ch) ;
+			if(child != NONE) {
+				return child ;
+			}
+			if(state == ROOT) {
+				return ROOT ;
+			}
+			state = fail[state] ;
+		}
+	}
+
+	// This method finds the child of the node for the character by a binary search of its sorted children
+	private int child(final int node, final char ch) {
+		int low = childStart[node] ;
+		int high = low + childCount[node] - 1 ;
+		while(low <= high) {
+			int middle = (low + high) >>> 1 ;
+			char value = letter[middle] ;
+			if(value < ch) {
+				low = middle + 1 ;
+			}
+			else if(value > ch) {
+				high = middle - 1 ;
+			}
+			else {
+				return middle ;
+			}
+		}
+		return NONE ;
+	}
+
+	// This method sorts the first count nodes of the buffer by their letter (insertion sort, as nodes have few children)
+	private void sortByLetter(final int[] nodes, final int count) {
+		for(int i=1 ; i<count ; i++) {
+			int node = nodes[i] ;
+			int j = i - 1 ;
+			while(j >= 0 && letter[nodes[j]] > letter[node]) {
+				nodes[j + 1] = nodes[j] ;
+				j-- ;
+			}
+			nodes[j + 1] = node ;
+		}
+	}
+
+	// This method appends a node without children and grows the arrays if they are full
+	private int newNode(final char ch) {
+		if(nodeCount == letter.length) {
+			int capacity = letter.length * 2 ;
+			letter = Arrays.copyOf(letter, capacity) ;
+			firstChild = Arrays.copyOf(firstChild, capacity) ;
+			nextSibling = Arrays.copyOf(nextSibling, capacity) ;
+			wordLength = Arrays.copyOf(wordLength, capacity) ;
+		}
+		int node = nodeCount++ ;
+		letter[node] = ch ;
+		firstChild[node] = NONE ;
+		nextSibling[node] = NONE ;
+		wordLength[node] = 0 ;
+		return node ;
+	}
+}
@@ -0,0 +1,232 @@
+package aho_corasick;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import common.FinderConfig;
+import common.FinderResult;
+import common.LengthBuckets;
+import common.MappedWordLoader;
+import common.TopKCollector;
+import suffixtree.MappedTrie;
+
+/**
+ * BASIC INFORMATION
+ * This program finds the two longest concatenated words and the total count of concatenated words
+ * Takes input from the file: 'E:/Java/TempWS/IBMTest/resources/words for problem.txt'
+ * The input file (a word list or a dictionary compiled by suffixtree.DictionaryCompiler) and the thread count can be passed as arguments: [path] [-threads=N] [-topOnly]
+ * The number of longest words and their tie-break can be passed as well: [-top=K] [-tieBreak=arrival|lexicographic] (lexicographic by default, which does not depend on the input order)
+ * 
+ * EXAMPLE
+ * For example, if the file contained the words:
+ * cat, cats, catsdogcats, dog, dogcatsdog, hippopotamuses, rat, ratcatdogcat
+ * ratcatdogcat and catsdogcats will be the longest concatenated words
+ * The total number of concatenated words is three
+ * 
+ * STEPS
+ * 1: Insert every word in an Aho-Corasick automaton (AhoCorasickAutomaton). The file is read through MappedWordLoader
+ *    The words of a compiled dictionary are listed through its MappedTrie instead, from its word section by decreasing length
+ * 2: Build the automaton: breadth-first node numbers with sorted children, fail links and output links
+ * 3: For each word, scan it once through the automaton. Every dictionary word ending at a position is reported there
+ * 4: Every reported word extends a 1-D reachability array. If the end of the word is reachable, it is concatenated
+ * 5: Count the word and offer it to the output collector (TopKCollector)
+ * 6: Print the outputs
+ * With more than one thread, the words are scanned in parallel and offered afterwards in file order
+ * With -topOnly, the words are bucketed by length (LengthBuckets) and scanned from the longest bucket down
+ * The scan stops once the output list rejects the next length, as every remaining word is shorter. No count is computed
+ * Other classes run the finder through find(FinderConfig), which honours FinderConfig.isTopOnly() the same way
+ * 
+ * ADVANTAGES OF THIS APPROACH
+ * A word of length n is scanned in O(n + occurrences): no substring is hashed or compared, whatever the longest word is
+ * The DP check probes up to n * maxLength ranges and the Trie engine walks the Trie again from every prefix boundary
+ * 
+ * DISADVANTAGES OF THIS APPROACH
+ * The automaton needs two more int arrays per node than the Trie (the fail and output links)
+ * The scan can not stop early: the end of the word is only known after the last character
+ */
+public class ConcatenatedWordsFinder_AhoCorasick {
+
+	private final AhoCorasickAutomaton automaton = new AhoCorasickAutomaton() ;
+	private final ArrayList<String> words = new ArrayList<>() ;	// The unique words in file order
+	private final TopKCollector output ;				// Stores the output words
+	private final int threads ;							// Number of threads scanning the words
+	private final boolean topOnly ;						// Whether only the output list is required, without the count
+	private final TopKCollector.TieBreak tieBreak ;		// Decides between output words of the same length
+	private int concatenatedWordCounter = 0 ;
+
+	// Default access constructor. The finder is created by main and by find(FinderConfig)
+	ConcatenatedWordsFinder_AhoCorasick(int threads, boolean topOnly, int outputSize, TopKCollector.TieBreak tieBreak) {
+		this.threads = threads ;
+		this.topOnly = topOnly ;
+		this.tieBreak = tieBreak ;
+		output = new TopKCollector(outputSize, tieBreak) ;
+	}
+
+	// This method reads the file from the given path, inserts the words in the automaton and builds it
+	void makeAutomaton(final String path) {
+		try {
+			loadAutomaton(path) ;
+		}
+		catch(NoSuchFileException e) {
+			System.err.println("File not found") ;
+			e.printStackTrace() ;
+		}
+		catch(IOException e) {
+			System.err.println("IO exception") ;
+			e.printStackTrace() ;
+		}
+	}
+	
+	/* This method inserts the words and builds the automaton. If the file can not be read, the words read so far are built
+	 * A compiled dictionary is not text, so its words are listed through its MappedTrie, each word once */
+	private void loadAutomaton(final String path) throws IOException {
+		try {
+			if(MappedTrie.isCompiled(path)) {
+				MappedTrie.open(path).forEachWord(word -> {
+					automaton.insertWord(word, 0, word.length()) ;
+					words.add(word) ;
+				}) ;
+				return ;
+			}
+			MappedWordLoader.load(path, (chars, offset, length) -> {
+				if(automaton.insertWord(CharBuffer.wrap(chars), offset, offset + length)) {
+					words.add(new String(chars, offset, length)) ;	// Only the first occurrence of a word is kept
+				}
+			}) ;
+		}
+		finally {
+			automaton.build() ;
+		}
+	}
+
+	// This method scans every word and finds the largest concatenated words and the count of concatenated words
+	void findConcatenatedWords() {
+		if(topOnly) {
+			findLongestWordsOnly() ;
+			return ;
+		}
+		boolean[] concatenated = new boolean[words.size()] ;
+		if(threads > 1) {
+			ForkJoinPool pool = new ForkJoinPool(threads) ;
+			try {
+				// Every thread keeps its own reachability array. The flags of different words are different elements
+				ThreadLocal<boolean[]> scratch = ThreadLocal.withInitial(() -> new boolean[automaton.getMaxLength() + 1]) ;
+				pool.submit(() -> IntStream.range(0, words.size()).parallel()
+						.forEach(i -> concatenated[i] = automaton.isConcatenated(words.get(i), scratch.get()))).get() ;
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt() ;
+				throw new IllegalStateException("Interrupted while scanning the words", e) ;
+			}
+			catch(ExecutionException e) {
+				throw new IllegalStateException("Scanning the words failed", e.getCause()) ;
+			}
+			finally {
+				pool.shutdown() ;
+			}
+		}
+		else {
+			boolean[] reachable = new boolean[automaton.getMaxLength() + 1] ;
+			for(int i=0 ; i<words.size() ; i++) {
+				concatenated[i] = automaton.isConcatenated(words.get(i), reachable) ;
+			}
+		}
+		
+		for(int i=0 ; i<words.size() ; i++) {
+			if(concatenated[i]) {
+				concatenatedWordCounter++ ;
+				output.offer(words.get(i), i) ;		// The file order orders the ties
+			}
+		}
+	}
+	
+	/* This method only finds the longest concatenated words
+	 * The buckets keep the file order, so the ties are resolved as in the full run
+	 * It stops at the first length the output rejects, at the latest after the bucket that filled the output */
+	private void findLongestWordsOnly() {
+		LengthBuckets buckets = new LengthBuckets() ;
+		for(String word : words) {
+			buckets.add(word) ;
+		}
+		boolean[] reachable = new boolean[automaton.getMaxLength() + 1] ;
+		for(int length = buckets.getMaxLength() ; length > 0 && output.accepts(length) ; length--) {
+			long sequence = 0 ;						// Position of the word in its bucket, which follows file order
+			for(String word : buckets.getWords(length)) {
+				// With ARRIVAL, a later word of the same length never beats a kept word
+				if(output.isFull() && tieBreak == TopKCollector.TieBreak.ARRIVAL) {
+					return ;
+				}
+				if(automaton.isConcatenated(word, reachable)) {
+					output.offer(word, sequence) ;
+				}
+				sequence++ ;
+			}
+		}
+	}
+	
+	// This method prints the output list and the count of concatenated words
+	private void printOutputs() {
+		System.out.println("Automaton nodes = " + automaton.getNodeCount()) ;
+		System.out.println("Automaton size = " + automaton.getBytes()) ;
+		if(topOnly) {
+			System.out.println("Count of concatenated words = not computed (-topOnly)") ;
+		}
+		else {
+			System.out.println("Count of concatenated words = " + concatenatedWordCounter) ;
+		}
+		System.out.println("Printing output list") ;
+		for(String word : output.toList()) {
+			System.out.println(word) ;
+		}
+	}
+	
+	// This method runs the finder for the configuration, without printing anything
+	public static FinderResult find(final FinderConfig config) throws IOException {
+		long millis1 = System.currentTimeMillis() ;
+		ConcatenatedWordsFinder_AhoCorasick finder = new ConcatenatedWordsFinder_AhoCorasick(config.getThreads(), config.isTopOnly(), config.getOutputSize(), config.getTieBreak()) ;
+		finder.loadAutomaton(config.getPath()) ;
+		finder.findConcatenatedWords() ;
+		long count = config.isTopOnly() ? -1 : finder.concatenatedWordCounter ;
+		return new FinderResult("AhoCorasick", count, finder.output.toList(), System.currentTimeMillis() - millis1) ;
+	}
+	
+	public static void main(String[] args) {
+		long millis1 = System.currentTimeMillis() ;
+		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		int threads = 1 ;
+		boolean topOnly = false ;
+		int outputSize = 2 ;
+		TopKCollector.TieBreak tieBreak = TopKCollector.TieBreak.LEXICOGRAPHIC ;
+		for(String arg : args) {
+			if(arg.startsWith("-threads=")) {
+				threads = Integer.parseInt(arg.substring("-threads=".length())) ;
+			}
+			else if(arg.equals("-topOnly")) {
+				topOnly = true ;
+			}
+			else if(arg.startsWith("-top=")) {
+				outputSize = Integer.parseInt(arg.substring("-top=".length())) ;
+			}
+			else if(arg.startsWith("-tieBreak=")) {
+				tieBreak = TopKCollector.TieBreak.valueOf(arg.substring("-tieBreak=".length()).toUpperCase()) ;
+			}
+			else {
+				path = arg ;
+			}
+		}
+		ConcatenatedWordsFinder_AhoCorasick obj = new ConcatenatedWordsFinder_AhoCorasick(threads, topOnly, outputSize, tieBreak) ;
+		
+		obj.makeAutomaton(path) ;						// Building the automaton
+		obj.findConcatenatedWords() ;					// Scanning every word
+		
+		long millis2 = System.currentTimeMillis() ;
+		System.out.printf("Time taken = %d milliseconds \n", (millis2 - millis1)) ;
+		
+		obj.printOutputs() ;							// Printing the outputs
+	}
+}
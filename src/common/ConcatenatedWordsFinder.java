@@ -0,0 +1,12 @@
+package common;
+
+import java.io.IOException;
+
+/* This interface is the common entry point of the finders
+ * A finder reads the file of the configuration and returns the count and the longest concatenated words
+ * Every call builds its own dictionary, so one finder may be called for many files, also from many threads */
+public interface ConcatenatedWordsFinder {
+
+	// Finds the concatenated words of the file given by the configuration
+	FinderResult find(FinderConfig config) throws IOException ;
+}
@@ -0,0 +1,87 @@
+package common;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/* This is a bean class for the settings shared by all the finders
+ * Only the input path is required. A finder ignores the settings it has no use for
+ * (for example the temporary directory is only used by the out-of-core finder) */
+public class FinderConfig {
+
+	private final String path ;							// The word list, or a dictionary compiled by DictionaryCompiler
+	private int outputSize = 2 ;						// The number of longest concatenated words required
+	private TopKCollector.TieBreak tieBreak = TopKCollector.TieBreak.LEXICOGRAPHIC ;
+	private int threads = 1 ;							// Number of threads checking the words
+	private boolean topOnly = false ;					// Whether only the output list is required, without the count
+	private long heapBudget = Runtime.getRuntime().maxMemory() / 2 ;	// Bytes the dictionary may take, half the heap by default
+	private Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir")) ;
+
+	public FinderConfig(String path) {
+		this.path = path ;
+	}
+
+	public String getPath() {
+		return path ;
+	}
+
+	public int getOutputSize() {
+		return outputSize ;
+	}
+
+	public void setOutputSize(int outputSize) {
+		this.outputSize = outputSize ;
+	}
+
+	public TopKCollector.TieBreak getTieBreak() {
+		return tieBreak ;
+	}
+
+	public void setTieBreak(TopKCollector.TieBreak tieBreak) {
+		this.tieBreak = tieBreak ;
+	}
+
+	public int getThreads() {
+		return threads ;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads ;
+	}
+
+	public boolean isTopOnly() {
+		return topOnly ;
+	}
+
+	public void setTopOnly(boolean topOnly) {
+		this.topOnly = topOnly ;
+	}
+
+	public long getHeapBudget() {
+		return heapBudget ;
+	}
+
+	public void setHeapBudget(long heapBudget) {
+		this.heapBudget = heapBudget ;
+	}
+
+	public Path getTempDirectory() {
+		return tempDirectory ;
+	}
+
+	public void setTempDirectory(Path tempDirectory) {
+		this.tempDirectory = tempDirectory ;
+	}
+
+	/* This method copies the configuration for another input file
+	 * The settings are the same, thus one set of arguments can be applied to many files */
+	public FinderConfig withPath(final String path) {
+		FinderConfig copy = new FinderConfig(path) ;
+		copy.outputSize = outputSize ;
+		copy.tieBreak = tieBreak ;
+		copy.threads = threads ;
+		copy.topOnly = topOnly ;
+		copy.heapBudget = heapBudget ;
+		copy.tempDirectory = tempDirectory ;
+		return copy ;
+	}
+}
@@ -0,0 +1,42 @@
+package common;
+
+import java.util.Collections;
+import java.util.List;
+
+/* This is a bean class for the result of a finder
+ * The count is -1 if it was not computed (only the longest words were required) */
+public class FinderResult {
+
+	private final String engine ;						// The finder that produced the result
+	private final long count ;							// Number of concatenated words, or -1
+	private final List<String> longestWords ;			// The longest concatenated words, the longest first
+	private final long millis ;							// Time taken by the finder
+
+	public FinderResult(String engine, long count, List<String> longestWords, long millis) {
+		this.engine = engine ;
+		this.count = count ;
+		this.longestWords = Collections.unmodifiableList(longestWords) ;
+		this.millis = millis ;
+	}
+
+	public String getEngine() {
+		return engine ;
+	}
+
+	public long getCount() {
+		return count ;
+	}
+
+	public List<String> getLongestWords() {
+		return longestWords ;
+	}
+
+	public long getMillis() {
+		return millis ;
+	}
+
+	@Override
+	public String toString() {
+		return engine + ": count = " + ((count < 0) ? "not computed" : String.valueOf(count)) + ", longest = " + longestWords + ", " + millis + " ms" ;
+	}
+}
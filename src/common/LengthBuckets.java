@@ -0,0 +1,38 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/* This class groups words by their length, so that the longest words can be checked first
+ * The words of a bucket keep the order in which they were added */
+public class LengthBuckets {
+
+	private final ArrayList<ArrayList<String>> buckets = new ArrayList<>() ;	// Bucket i holds the words of length i
+
+	// This method adds the word to the bucket of its length
+	public void add(final String word) {
+		while(buckets.size() <= word.length()) {
+			buckets.add(null) ;
+		}
+		ArrayList<String> bucket = buckets.get(word.length()) ;
+		if(bucket == null) {
+			bucket = new ArrayList<>() ;
+			buckets.set(word.length(), bucket) ;
+		}
+		bucket.add(word) ;
+	}
+
+	// Getter for the length of the longest word, or 0 if there is no word
+	public int getMaxLength() {
+		return Math.max(0, buckets.size() - 1) ;
+	}
+
+	// Getter for the words of the given length. The list is empty if there is no such word
+	public List<String> getWords(final int length) {
+		if(length >= buckets.size() || buckets.get(length) == null) {
+			return Collections.emptyList() ;
+		}
+		return buckets.get(length) ;
+	}
+}
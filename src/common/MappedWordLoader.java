@@ -0,0 +1,225 @@
+package common;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/* This class reads the words of a file through memory-mapped windows of the file
+ * Words are separated by whitespace (as Character.isWhitespace(), which is the Scanner default)
+ * The bytes are decoded as UTF-8 straight into a reused char buffer. ASCII bytes take a single table lookup
+ * A word is handed to the WordConsumer as a char range, thus no String is created by the loader
+ * Windows are at most WINDOW_SIZE bytes, so files larger than 2 GB can be read as well
+ * loadInParallel() splits the file into byte ranges that end after a newline and reads every range on its own thread */
+public class MappedWordLoader {
+
+	private static final long WINDOW_SIZE = 1L << 28 ;		// 256 MB of the file are mapped at a time
+	private static final char REPLACEMENT = '\uFFFD' ;		// Replaces malformed UTF-8 sequences
+	private static final int BOUNDARY_SEARCH_SIZE = 64 * 1024 ;	// Bytes read at a time while looking for a newline
+	private static final boolean[] ASCII_WHITESPACE = new boolean[128] ;
+
+	static {
+		for(int ch=0 ; ch<128 ; ch++) {
+			ASCII_WHITESPACE[ch] = Character.isWhitespace(ch) ;
+		}
+	}
+
+	private char[] word = new char[64] ;					// The characters of the current word
+	private int length = 0 ;								// Number of characters of the current word
+
+	// Default access constructor, instances are only used for one read at a time
+	MappedWordLoader() {
+	}
+
+	// This method reads all the words of the file and hands them to the consumer in file order
+	public static void load(final String path, final WordConsumer consumer) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			new MappedWordLoader().load(channel, 0, channel.size(), consumer) ;
+		}
+	}
+
+	/* This method reads the file as byte ranges on the given number of threads
+	 * Every range gets its own consumer from the supplier. The consumers are returned in file order,
+	 * thus merging them in list order sees the words in the same order as load() */
+	public static <C extends WordConsumer> List<C> loadInParallel(final String path, final int threads, final Supplier<C> consumers) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long[] boundaries = splitAtNewlines(channel, threads) ;
+			List<C> results = new ArrayList<>() ;
+			List<Future<?>> futures = new ArrayList<>() ;
+			ExecutorService executor = Executors.newFixedThreadPool(threads) ;
+			try {
+				for(int i=0 ; i<boundaries.length - 1 ; i++) {
+					final long from = boundaries[i] ;
+					final long to = boundaries[i + 1] ;
+					final C consumer = consumers.get() ;
+					results.add(consumer) ;
+					futures.add(executor.submit(() -> {
+						new MappedWordLoader().load(channel, from, to, consumer) ;
+						return null ;
+					})) ;
+				}
+				for(Future<?> future : futures) {
+					future.get() ;
+				}
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt() ;
+				throw new InterruptedIOException("Interrupted while loading " + path) ;
+			}
+			catch(ExecutionException e) {
+				if(e.getCause() instanceof IOException) {
+					throw (IOException) e.getCause() ;
+				}
+				throw new IOException(e.getCause()) ;
+			}
+			finally {
+				executor.shutdownNow() ;
+			}
+			return results ;
+		}
+	}
+
+	/* This method returns the start of every range followed by the file size
+	 * A range boundary is moved forward to the byte after the next newline, so no word or UTF-8 sequence is cut
+	 * Ranges may be empty when the file has long lines */
+	private static long[] splitAtNewlines(final FileChannel channel, final int parts) throws IOException {
+		long size = channel.size() ;
+		long[] boundaries = new long[parts + 1] ;
+		ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SEARCH_SIZE) ;
+		for(int i=1 ; i<parts ; i++) {
+			long position = Math.max(boundaries[i - 1], size / parts * i) ;
+			boundaries[i] = nextLineStart(channel, position, size, buffer) ;
+		}
+		boundaries[parts] = size ;
+		return boundaries ;
+	}
+
+	// This method returns the position after the first newline at or after the given position, or the size if there is none
+	private static long nextLineStart(final FileChannel channel, long position, final long size, final ByteBuffer buffer) throws IOException {
+		while(position < size) {
+			buffer.clear() ;
+			int read = channel.read(buffer, position) ;
+			if(read <= 0) {
+				break ;
+			}
+			for(int i=0 ; i<read ; i++) {
+				if(buffer.get(i) == '\n') {
+					return position + i + 1 ;
+				}
+			}
+			position += read ;
+		}
+		return size ;
+	}
+
+	/* This method reads the words of the byte range [from, to) of the channel
+	 * The range must not start or end in the middle of a word */
+	void load(final FileChannel channel, final long from, final long to, final WordConsumer consumer) throws IOException {
+		long position = from ;
+		while(position < to) {
+			long size = Math.min(WINDOW_SIZE, to - position) ;
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size) ;
+			position += scan(buffer, position + size == to, consumer) ;
+		}
+		endWord(consumer) ;									// The file may not end with whitespace
+	}
+
+	/* This method decodes the window and returns the number of bytes it consumed
+	 * A UTF-8 sequence cut by the end of the window is left for the next window
+	 * The current word is kept, so a word can span windows */
+	private int scan(final MappedByteBuffer buffer, final boolean lastWindow, final WordConsumer consumer) {
+		int limit = buffer.limit() ;
+		int i = 0 ;
+		while(i < limit) {
+			int b = buffer.get(i) ;
+			if(b >= 0) {									// ASCII fast path
+				if(ASCII_WHITESPACE[b]) {
+					endWord(consumer) ;
+				}
+				else {
+					append((char) b) ;
+				}
+				i++ ;
+				continue ;
+			}
+			int needed = sequenceLength(b) ;
+			if(i + needed > limit && ! lastWindow) {
+				return i ;									// The next window starts at this lead byte
+			}
+			i += decode(buffer, i, needed, limit, consumer) ;
+		}
+		return limit ;
+	}
+
+	// This method returns the length of the UTF-8 sequence from its lead byte, or 1 for an invalid lead byte
+	private static int sequenceLength(final int b) {
+		if((b & 0xE0) == 0xC0) {
+			return 2 ;
+		}
+		if((b & 0xF0) == 0xE0) {
+			return 3 ;
+		}
+		if((b & 0xF8) == 0xF0) {
+			return 4 ;
+		}
+		return 1 ;
+	}
+
+	/* This method decodes one multi-byte sequence starting at index and returns the number of bytes consumed
+	 * Malformed or truncated sequences become a single replacement character */
+	private int decode(final MappedByteBuffer buffer, final int index, final int needed, final int limit, final WordConsumer consumer) {
+		if(needed == 1) {
+			append(REPLACEMENT) ;
+			return 1 ;
+		}
+		int codePoint = buffer.get(index) & (0xFF >>> (needed + 1)) ;
+		for(int k=1 ; k<needed ; k++) {
+			if(index + k >= limit || (buffer.get(index + k) & 0xC0) != 0x80) {
+				append(REPLACEMENT) ;
+				return k ;
+			}
+			codePoint = (codePoint << 6) | (buffer.get(index + k) & 0x3F) ;
+		}
+
+		if(Character.isBmpCodePoint(codePoint)) {
+			if(Character.isWhitespace(codePoint)) {
+				endWord(consumer) ;
+			}
+			else {
+				append((char) codePoint) ;
+			}
+		}
+		else {
+			append(Character.highSurrogate(codePoint)) ;
+			append(Character.lowSurrogate(codePoint)) ;
+		}
+		return needed ;
+	}
+
+	// This method adds a character to the current word
+	private void append(final char ch) {
+		if(length == word.length) {
+			word = Arrays.copyOf(word, length * 2) ;
+		}
+		word[length++] = ch ;
+	}
+
+	// This method hands the current word to the consumer, if there is one
+	private void endWord(final WordConsumer consumer) {
+		if(length > 0) {
+			consumer.accept(word, 0, length) ;
+			length = 0 ;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package common;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/* This class holds the counters of one finder run: the phases, the dictionary probes, the DP cells and the suffix queue
+ * The counters are only updated when the JVM runs with -Dconcatenatedwords.metrics=true
+ * ENABLED is a static final constant, so the JIT removes every "if(Metrics.ENABLED)" block of a disabled run
+ * The hot loops count in local variables and add them once per word, thus a counter is not touched per probe
+ * The counters are LongAdders, so the threads of a parallel run add to them without contention
+ * register() publishes the counters as an MXBean. With -Dconcatenatedwords.metrics.period=millis they are also
+ * printed to the standard error every period while the finder runs */
+public class Metrics implements MetricsMXBean {
+
+	public static final boolean ENABLED = Boolean.getBoolean("concatenatedwords.metrics") ;
+	private static final long DUMP_PERIOD = Long.getLong("concatenatedwords.metrics.period", 0) ;	// Milliseconds, 0 for no dump
+
+	private final String engine ;						// Names the MXBean and the dump lines
+	private volatile long loadNanos = 0 ;
+	private volatile long checkNanos = 0 ;
+	private final LongAdder wordsLoaded = new LongAdder() ;
+	private final LongAdder probes = new LongAdder() ;	// Dictionary lookups of a range of a word
+	private final LongAdder hits = new LongAdder() ;	// Lookups that found a word
+	private final LongAdder cells = new LongAdder() ;	// DP cells evaluated (positions of the LINEAR array, entries of the TABLE)
+	private final LongAccumulator queuePeak = new LongAccumulator(Math::max, 0) ;	// Largest size of the suffix queue
+	private final LongAdder expansions = new LongAdder() ;	// Suffixes added to the suffix queue after a failed lookup
+	private final LongAdder found = new LongAdder() ;	// Concatenated words found
+	private ScheduledExecutorService dump ;
+
+	public Metrics(String engine) {
+		this.engine = engine ;
+	}
+
+	// This method records the load phase: its start (from System.nanoTime()) and the number of words read
+	public void endLoad(final long startNanos, final long words) {
+		loadNanos = System.nanoTime() - startNanos ;
+		wordsLoaded.add(words) ;
+	}
+
+	// This method records the duration of the check phase, which started at startNanos (from System.nanoTime())
+	public void endCheck(final long startNanos) {
+		checkNanos = System.nanoTime() - startNanos ;
+	}
+
+	// This method adds the dictionary lookups of one word and how many of them found a word
+	public void addProbes(final long probes, final long hits) {
+		this.probes.add(probes) ;
+		this.hits.add(hits) ;
+	}
+
+	// This method adds the DP cells evaluated for one word
+	public void addCells(final long cells) {
+		this.cells.add(cells) ;
+	}
+
+	// This method adds suffixes put in the suffix queue by an expansion
+	public void addExpansions(final long suffixes) {
+		expansions.add(suffixes) ;
+	}
+
+	// This method records the current size of the suffix queue, the peak is kept
+	public void updateQueuePeak(final long size) {
+		queuePeak.accumulate(size) ;
+	}
+
+	// This method adds concatenated words found
+	public void addFound(final long words) {
+		found.add(words) ;
+	}
+
+	/* This method registers the counters with the platform MBean server as common:type=Metrics,engine=<engine>
+	 * and starts the periodic dump if a period is set. Nothing happens if the metrics are disabled */
+	public void register() {
+		if(! ENABLED) {
+			return ;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("common:type=Metrics,engine=" + engine)) ;
+		}
+		catch(JMException e) {
+			System.err.println("Metrics not registered") ;
+			e.printStackTrace() ;
+		}
+		if(DUMP_PERIOD > 0) {
+			dump = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "metrics-dump") ;
+				thread.setDaemon(true) ;				// The dump never keeps the JVM alive
+				return thread ;
+			}) ;
+			dump.scheduleAtFixedRate(() -> System.err.println(this), DUMP_PERIOD, DUMP_PERIOD, TimeUnit.MILLISECONDS) ;
+		}
+	}
+
+	// This method stops the periodic dump and prints the counters one last time. Nothing happens if the metrics are disabled
+	public void print() {
+		if(! ENABLED) {
+			return ;
+		}
+		if(dump != null) {
+			dump.shutdownNow() ;
+		}
+		System.out.println(this) ;
+	}
+
+	@Override
+	public long getLoadMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(loadNanos) ;
+	}
+
+	@Override
+	public long getWordsLoaded() {
+		return wordsLoaded.sum() ;
+	}
+
+	@Override
+	public long getWordsPerSecond() {
+		return (loadNanos > 0) ? wordsLoaded.sum() * 1000000000L / loadNanos : 0 ;
+	}
+
+	@Override
+	public long getCheckMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(checkNanos) ;
+	}
+
+	@Override
+	public long getProbes() {
+		return probes.sum() ;
+	}
+
+	@Override
+	public long getHits() {
+		return hits.sum() ;
+	}
+
+	@Override
+	public double getHitRatio() {
+		long total = probes.sum() ;
+		return (total > 0) ? (double) hits.sum() / total : 0 ;
+	}
+
+	@Override
+	public long getCellsEvaluated() {
+		return cells.sum() ;
+	}
+
+	@Override
+	public long getQueuePeak() {
+		return queuePeak.get() ;
+	}
+
+	@Override
+	public long getExpansions() {
+		return expansions.sum() ;
+	}
+
+	@Override
+	public long getConcatenatedWords() {
+		return found.sum() ;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Metrics [%s] load = %d ms, words = %d (%d/s), check = %d ms, probes = %d, hits = %d (%.4f), cells = %d, queue peak = %d, expansions = %d, found = %d",
+				engine, getLoadMillis(), getWordsLoaded(), getWordsPerSecond(), getCheckMillis(), getProbes(), getHits(), getHitRatio(),
+				getCellsEvaluated(), getQueuePeak(), getExpansions(), getConcatenatedWords()) ;
+	}
+}
@@ -0,0 +1,28 @@
+package common;
+
+/* This interface lists the attributes of Metrics seen through JMX (jconsole, VisualVM)
+ * The times are in milliseconds, the rates are per second */
+public interface MetricsMXBean {
+
+	long getLoadMillis() ;
+
+	long getWordsLoaded() ;
+
+	long getWordsPerSecond() ;
+
+	long getCheckMillis() ;
+
+	long getProbes() ;
+
+	long getHits() ;
+
+	double getHitRatio() ;
+
+	long getCellsEvaluated() ;
+
+	long getQueuePeak() ;
+
+	long getExpansions() ;
+
+	long getConcatenatedWords() ;
+}
@@ -0,0 +1,148 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/* This class keeps the K longest words offered to it in a bounded min-heap
+ * The root of the heap is the worst word kept, so a new word is only compared with the root to be rejected
+ * Every word comes with a sequence number (for example its position in the dictionary)
+ * Ties in length are resolved by the TieBreak: the lower sequence number or the lexicographically smaller word wins
+ * The heap is two parallel arrays, thus a word is neither boxed nor copied when it is offered
+ * One collector is not thread-safe. Threads keep their own collectors and merge them at the end */
+public class TopKCollector {
+
+	// This enum lists the rules used between words of the same length
+	public enum TieBreak {
+		ARRIVAL,		// The word with the lower sequence number wins (the word met first). Depends on the input order
+		LEXICOGRAPHIC	// The lexicographically smaller word wins, the sequence number only separates equal words. The default
+	}
+
+	private final int capacity ;							// The number of longest words required (K)
+	private final TieBreak tieBreak ;
+	private final String[] words ;							// The heap of words
+	private final long[] sequences ;						// The sequence number of the word in the same slot
+	private int size = 0 ;
+
+	public TopKCollector(int capacity, TieBreak tieBreak) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive: " + capacity) ;
+		}
+		this.capacity = capacity ;
+		this.tieBreak = tieBreak ;
+		words = new String[capacity] ;
+		sequences = new long[capacity] ;
+	}
+
+	/* This method offers a word to the collector and returns whether the word was kept
+	 * If the collector is full, the word replaces the worst word if it is better */
+	public boolean offer(final String word, final long sequence) {
+		if(size < capacity) {
+			words[size] = word ;
+			sequences[size] = sequence ;
+			siftUp(size++) ;
+			return true ;
+		}
+		if(! isBetter(word, sequence, words[0], sequences[0])) {
+			return false ;
+		}
+		words[0] = word ;
+		sequences[0] = sequence ;
+		siftDown(0) ;
+		return true ;
+	}
+
+	/* This method returns false if no word of the given length could be kept
+	 * The -topOnly runs check the words from the longest down and stop at the first length it rejects,
+	 * so no word too short for the output is proven */
+	public boolean accepts(final int length) {
+		return size < capacity || length >= words[0].length() ;
+	}
+
+	// This method offers all the words of another collector, for example the collector of another thread
+	public void merge(final TopKCollector other) {
+		for(int i=0 ; i<other.size ; i++) {
+			offer(other.words[i], other.sequences[i]) ;
+		}
+	}
+
+	// Returns whether K words are kept
+	public boolean isFull() {
+		return size == capacity ;
+	}
+
+	// Returns the number of words kept
+	public int size() {
+		return size ;
+	}
+
+	// This method returns the kept words from the best to the worst. The collector is not changed
+	public List<String> toList() {
+		Integer[] order = new Integer[size] ;
+		for(int i=0 ; i<size ; i++) {
+			order[i] = i ;
+		}
+		Arrays.sort(order, (a, b) -> isBetter(words[a], sequences[a], words[b], sequences[b]) ? -1 : (a.equals(b) ? 0 : 1)) ;
+		List<String> list = new ArrayList<>(size) ;
+		for(int i : order) {
+			list.add(words[i]) ;
+		}
+		return list ;
+	}
+
+	// This method returns whether the first word ranks before the second word
+	private boolean isBetter(final String word1, final long sequence1, final String word2, final long sequence2) {
+		if(word1.length() != word2.length()) {
+			return word1.length() > word2.length() ;
+		}
+		if(tieBreak == TieBreak.LEXICOGRAPHIC) {
+			int comparison = word1.compareTo(word2) ;
+			if(comparison != 0) {
+				return comparison < 0 ;
+			}
+		}
+		return sequence1 < sequence2 ;
+	}
+
+	// This method moves the entry at index up while it is worse than its parent
+	private void siftUp(int index) {
+		while(index > 0) {
+			int parent = (index - 1) >>> 1 ;
+			if(! isBetter(words[parent], sequences[parent], words[index], sequences[index])) {
+				break ;
+			}
+			swap(index, parent) ;
+			index = parent ;
+		}
+	}
+
+	// This method moves the entry at index down while a child is worse than it
+	private void siftDown(int index) {
+		while(true) {
+			int worst = index ;
+			int left = 2 * index + 1 ;
+			int right = left + 1 ;
+			if(left < size && isBetter(words[worst], sequences[worst], words[left], sequences[left])) {
+				worst = left ;
+			}
+			if(right < size && isBetter(words[worst], sequences[worst], words[right], sequences[right])) {
+				worst = right ;
+			}
+			if(worst == index) {
+				return ;
+			}
+			swap(index, worst) ;
+			index = worst ;
+		}
+	}
+
+	// This method swaps two entries of the heap
+	private void swap(final int i, final int j) {
+		String word = words[i] ;
+		words[i] = words[j] ;
+		words[j] = word ;
+		long sequence = sequences[i] ;
+		sequences[i] = sequences[j] ;
+		sequences[j] = sequence ;
+	}
+}
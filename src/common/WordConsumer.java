@@ -0,0 +1,9 @@
+package common;
+
+/* This interface receives the words read by MappedWordLoader
+ * The chars array is a buffer reused for the next word, thus a consumer must copy the word if it keeps it */
+public interface WordConsumer {
+
+	// Receives the word stored in chars[offset, offset + length)
+	void accept(char[] chars, int offset, int length) ;
+}
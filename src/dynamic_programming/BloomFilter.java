@@ -0,0 +1,82 @@
+package dynamic_programming;
+
+/* This class is a Bloom filter of words: a bit array that answers "maybe present" or "surely absent"
+ * A word sets hashCount bits. A lookup that finds one of its bits clear is a sure miss, at the cost of a few array reads
+ * The bit positions come from the length and the String.hashCode() of the word, so a char range is probed
+ * with the rolling hash of the caller and no substring is created
+ * The size and the number of bits per word follow the usual formulas for the requested false positive rate:
+ * bits = -n * ln(rate) / ln(2)^2 and hashCount = bits / n * ln(2)
+ * As the 32-bit hash is the only input, the rate can not get below the rate of String.hashCode() collisions
+ * between words of the same length (around n / 2^32) */
+class BloomFilter {
+
+	private final long[] bits ;							// The bit array, 64 bits per long
+	private final long bitCount ;						// Number of usable bits
+	private final int hashCount ;						// Number of bits set per word
+
+	// Default access constructor for package only access
+	BloomFilter(int expectedWords, double falsePositiveRate) {
+		if(falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("The false positive rate must be between 0 and 1: " + falsePositiveRate) ;
+		}
+		int n = Math.max(1, expectedWords) ;
+		double ln2 = Math.log(2) ;
+		bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2))) ;
+		hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2)) ;
+		bits = new long[(int) ((bitCount + 63) >>> 6)] ;
+	}
+
+	// This method adds the word to the filter
+	void add(final String word) {
+		add(word.length(), word.hashCode()) ;
+	}
+
+	// This method adds a word of the given length and String.hashCode() to the filter
+	void add(final int length, final int hash) {
+		long mixed = mix(length, hash) ;
+		int hash1 = (int) mixed ;
+		int hash2 = (int) (mixed >>> 32) | 1 ;			// Odd, so the probe positions do not repeat early
+		for(int i=0 ; i<hashCount ; i++) {
+			long index = position(hash1, hash2, i) ;
+			bits[(int) (index >>> 6)] |= 1L << index ;
+		}
+	}
+
+	/* This method returns false if no word of the given length and String.hashCode() was added
+	 * A true answer may be a false positive */
+	boolean mightContain(final int length, final int hash) {
+		long mixed = mix(length, hash) ;
+		int hash1 = (int) mixed ;
+		int hash2 = (int) (mixed >>> 32) | 1 ;
+		for(int i=0 ; i<hashCount ; i++) {
+			long index = position(hash1, hash2, i) ;
+			if((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+
+	// Getter for the size of the bit array in bytes
+	long getBytes() {
+		return bits.length * 8L ;
+	}
+
+	// Getter for the number of bits set per word
+	int getHashCount() {
+		return hashCount ;
+	}
+
+	// This method returns the i-th bit position of a word (double hashing: hash1 + i * hash2)
+	private long position(final int hash1, final int hash2, final int i) {
+		return ((hash1 + (long) i * hash2) & Long.MAX_VALUE) % bitCount ;
+	}
+
+	// Spreads the length and the hash over 64 bits (the finalizer of SplitMix64)
+	private static long mix(final int length, final int hash) {
+		long z = ((long) length << 32) | (hash & 0xFFFFFFFFL) ;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L ;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL ;
+		return z ^ (z >>> 31) ;
+	}
+}
@@ -0,0 +1,234 @@
+package dynamic_programming;
+
+import java.util.Arrays;
+
+import common.WordConsumer;
+
+/* This class stores a dictionary in a few primitive arrays instead of a HashSet of Strings
+ * The words are appended to one byte arena in insertion order. A word whose characters all fit in one byte
+ * (Latin-1) takes one byte per character, any other word takes two bytes per character (UTF-16, big-endian)
+ * Word i is arena[offsets[i], offsets[i + 1]). Its encoding is one bit of the utf16 bit set
+ * The index is an open-addressing table of word ids (linear probing) with the String.hashCode() of every word,
+ * so a word is probed with a range of a char array and its rolling hash, and no String is created
+ * The words are read straight from the loader's char buffer, thus loading creates no object per word either
+ * The DP engine checks the words by id (WordSource): a word is decoded into the checker's buffer, and a String is only
+ * created for the words that reach the output list. contains(String) compares the arena bytes in place as well
+ * One instance is not thread-safe while words are added. Once loaded, it can be read by many threads */
+class ByteArenaDictionary implements WordIndex, WordConsumer, WordSource {
+
+	private byte[] arena = new byte[1 << 16] ;			// The characters of all the words, one after the other
+	private int[] offsets = new int[1025] ;				// Start of every word in the arena, followed by the end of the last word
+	private long[] utf16 = new long[16] ;				// Bit set. Denotes whether the word takes two bytes per character
+	private int[] hashes = new int[1024] ;				// String.hashCode() of every word
+	private int[] table = new int[2048] ;				// Word id + 1 in every slot, 0 marks an empty slot
+	private int size = 0 ;								// Number of words
+	private int maxLength = 0 ;							// Length of the longest word
+	private long noOfWords = 0 ;						// Number of words read, including the repeated ones
+
+	// This method adds a word read by the loader, unless it is already present
+	@Override
+	public void accept(final char[] chars, final int offset, final int length) {
+		noOfWords++ ;
+		add(chars, offset, length) ;
+	}
+
+	// This method adds the word and returns false if it was already present
+	boolean add(final String word) {
+		return add(word.toCharArray(), 0, word.length()) ;
+	}
+
+	// This method adds chars[offset, offset + length) and returns false if it was already present
+	boolean add(final char[] chars, final int offset, final int length) {
+		int hash = 0 ;
+		for(int i=offset ; i<offset + length ; i++) {
+			hash = 31 * hash + chars[i] ;
+		}
+		if(contains(chars, offset, length, hash)) {
+			return false ;
+		}
+		if((size + 1) * 2 > table.length) {
+			resize() ;
+		}
+		if(size == hashes.length) {
+			hashes = Arrays.copyOf(hashes, hashes.length * 2) ;
+			offsets = Arrays.copyOf(offsets, hashes.length + 1) ;
+			utf16 = Arrays.copyOf(utf16, (hashes.length + 63) >>> 6) ;
+		}
+		boolean latin1 = true ;
+		for(int i=offset ; i<offset + length && latin1 ; i++) {
+			latin1 = chars[i] <= 0xFF ;
+		}
+		int start = offsets[size] ;
+		int bytes = latin1 ? length : 2 * length ;
+		if(start + bytes > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + bytes)) ;
+		}
+		for(int i=0 ; i<length ; i++) {
+			char ch = chars[offset + i] ;
+			if(latin1) {
+				arena[start + i] = (byte) ch ;
+			}
+			else {
+				arena[start + 2 * i] = (byte) (ch >>> 8) ;
+				arena[start + 2 * i + 1] = (byte) ch ;
+			}
+		}
+		if(! latin1) {
+			utf16[size >>> 6] |= 1L << size ;
+		}
+		offsets[size + 1] = start + bytes ;
+		hashes[size] = hash ;
+		insertId(size) ;
+		size++ ;
+		maxLength = Math.max(maxLength, length) ;
+		return true ;
+	}
+
+	/* This method checks whether chars[offset, offset + length) is a word of the dictionary
+	 * The hash must be equal to the String.hashCode() of that range */
+	@Override
+	public boolean contains(final char[] chars, final int offset, final int length, final int hash) {
+		int mask = table.length - 1 ;
+		for(int slot = CharRangeHashSet.mix(hash) & mask ; table[slot] != 0 ; slot = (slot + 1) & mask) {
+			int id = table[slot] - 1 ;
+			if(hashes[id] == hash && length(id) == length && regionEquals(id, chars, offset)) {
+				return true ;
+			}
+		}
+		return false ;
+	}
+
+	// This method checks whether the word is in the dictionary. The word is compared with the arena bytes, nothing is decoded
+	boolean contains(final String word) {
+		int hash = word.hashCode() ;
+		int mask = table.length - 1 ;
+		for(int slot = CharRangeHashSet.mix(hash) & mask ; table[slot] != 0 ; slot = (slot + 1) & mask) {
+			int id = table[slot] - 1 ;
+			if(hashes[id] == hash && length(id) == word.length() && regionEquals(id, word)) {
+				return true ;
+			}
+		}
+		return false ;
+	}
+
+	// This method decodes the word with the given id into chars[0, length(id))
+	@Override
+	public void getChars(final int id, final char[] chars) {
+		int length = length(id) ;
+		int start = offsets[id] ;
+		if(isUtf16(id)) {
+			for(int i=0 ; i<length ; i++) {
+				chars[i] = (char) (((arena[start + 2 * i] & 0xFF) << 8) | (arena[start + 2 * i + 1] & 0xFF)) ;
+			}
+		}
+		else {
+			for(int i=0 ; i<length ; i++) {
+				chars[i] = (char) (arena[start + i] & 0xFF) ;
+			}
+		}
+	}
+
+	// This method decodes the word with the given id into a new String
+	@Override
+	public String word(final int id) {
+		char[] chars = new char[length(id)] ;
+		getChars(id, chars) ;
+		return new String(chars) ;
+	}
+
+	// Getter for the number of words
+	@Override
+	public int size() {
+		return size ;
+	}
+
+	// Getter for the number of words read by the loader, including the repeated ones
+	long getNoOfWords() {
+		return noOfWords ;
+	}
+
+	// Getter for the length of the longest word. No range longer than this can be a word
+	@Override
+	public int maxLength() {
+		return maxLength ;
+	}
+
+	// Returns the bytes held by the arrays, which is the whole footprint of the dictionary apart from a few object headers
+	long getBytes() {
+		return arena.length + 4L * offsets.length + 8L * utf16.length + 4L * hashes.length + 4L * table.length ;
+	}
+
+	// Returns the bytes of the arena used by the words
+	long getArenaBytes() {
+		return offsets[size] ;
+	}
+
+	// Returns the number of characters of the word
+	@Override
+	public int length(final int id) {
+		int bytes = offsets[id + 1] - offsets[id] ;
+		return isUtf16(id) ? bytes >>> 1 : bytes ;
+	}
+
+	// Checks the encoding bit of the word
+	private boolean isUtf16(final int id) {
+		return (utf16[id >>> 6] & (1L << id)) != 0 ;
+	}
+
+	// This method compares the word with the chars starting at the offset. The lengths are already equal
+	private boolean regionEquals(final int id, final char[] chars, final int offset) {
+		int start = offsets[id] ;
+		int length = offsets[id + 1] - start ;
+		if(isUtf16(id)) {
+			for(int i=0 ; i<length ; i+=2) {
+				if((char) (((arena[start + i] & 0xFF) << 8) | (arena[start + i + 1] & 0xFF)) != chars[offset + (i >>> 1)]) {
+					return false ;
+				}
+			}
+			return true ;
+		}
+		for(int i=0 ; i<length ; i++) {
+			if((arena[start + i] & 0xFF) != chars[offset + i]) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+
+	// This method compares the word with the word of the given id. The lengths are already equal
+	private boolean regionEquals(final int id, final String word) {
+		int start = offsets[id] ;
+		if(isUtf16(id)) {
+			for(int i=0 ; i<word.length() ; i++) {
+				if((char) (((arena[start + 2 * i] & 0xFF) << 8) | (arena[start + 2 * i + 1] & 0xFF)) != word.charAt(i)) {
+					return false ;
+				}
+			}
+			return true ;
+		}
+		for(int i=0 ; i<word.length() ; i++) {
+			if((arena[start + i] & 0xFF) != word.charAt(i)) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+
+	// This method puts the word id in the first free slot of its probe sequence
+	private void insertId(final int id) {
+		int mask = table.length - 1 ;
+		int slot = CharRangeHashSet.mix(hashes[id]) & mask ;
+		while(table[slot] != 0) {
+			slot = (slot + 1) & mask ;
+		}
+		table[slot] = id + 1 ;
+	}
+
+	// This method doubles the table and re-inserts the word ids. The words themselves do not move
+	private void resize() {
+		table = new int[table.length * 2] ;
+		for(int id=0 ; id<size ; id++) {
+			insertId(id) ;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package dynamic_programming;
+
+/* This class is an open-addressing hash set of words that can be probed with a range of a char array
+ * The hash of a range is the same as String.hashCode() of the equivalent substring,
+ * so the caller can compute it incrementally (h = 31 * h + ch) while extending the range
+ * No substring is created for a lookup */
+class CharRangeHashSet implements WordIndex {
+
+	private String[] table ;							// Stores the words, null marks an empty slot
+	private int[] hashes ;								// Stores the hash of the word in the same slot
+	private int size = 0 ;								// Number of words in the set
+	private int maxLength = 0 ;							// Length of the longest word in the set
+
+	// Default access constructor for package only access
+	CharRangeHashSet(int expectedSize) {
+		int capacity = 16 ;
+		// Keeping the load factor at most 0.5 keeps the linear probe sequences short
+		while(capacity < expectedSize * 2) {
+			capacity <<= 1 ;
+		}
+		table = new String[capacity] ;
+		hashes = new int[capacity] ;
+	}
+
+	// This method adds the word to the set and returns false if it was already present
+	boolean add(final String word) {
+		if((size + 1) * 2 > table.length) {
+			resize() ;
+		}
+		int hash = word.hashCode() ;
+		int mask = table.length - 1 ;
+		int slot = mix(hash) & mask ;
+		while(table[slot] != null) {
+			if(hashes[slot] == hash && table[slot].equals(word)) {
+				return false ;
+			}
+			slot = (slot + 1) & mask ;
+		}
+		table[slot] = word ;
+		hashes[slot] = hash ;
+		size++ ;
+		maxLength = Math.max(maxLength, word.length()) ;
+		return true ;
+	}
+
+	/* This method removes the word from the set and returns false if it was not present
+	 * The entries after the removed slot are shifted back, so the probe sequences stay unbroken without tombstones
+	 * The longest word length is not lowered, it stays a valid upper bound of the word lengths */
+	boolean remove(final String word) {
+		int hash = word.hashCode() ;
+		int mask = table.length - 1 ;
+		int slot = mix(hash) & mask ;
+		while(table[slot] != null && ! (hashes[slot] == hash && table[slot].equals(word))) {
+			slot = (slot + 1) & mask ;
+		}
+		if(table[slot] == null) {
+			return false ;
+		}
+		int hole = slot ;
+		for(int next = (hole + 1) & mask ; table[next] != null ; next = (next + 1) & mask) {
+			int home = mix(hashes[next]) & mask ;
+			// The entry can fill the hole if its home slot is not between the hole and its current slot
+			if(((next - home) & mask) >= ((next - hole) & mask)) {
+				table[hole] = table[next] ;
+				hashes[hole] = hashes[next] ;
+				hole = next ;
+			}
+		}
+		table[hole] = null ;
+		size-- ;
+		return true ;
+	}
+
+	/* This method checks whether chars[offset, offset + length) is a word of the set
+	 * The hash must be equal to the String.hashCode() of that range */
+	@Override
+	public boolean contains(final char[] chars, final int offset, final int length, final int hash) {
+		int mask = table.length - 1 ;
+		int slot = mix(hash) & mask ;
+		String word ;
+		while((word = table[slot]) != null) {
+			if(hashes[slot] == hash && word.length() == length && regionEquals(word, chars, offset)) {
+				return true ;
+			}
+			slot = (slot + 1) & mask ;
+		}
+		return false ;
+	}
+
+	// Getter for the number of words
+	int size() {
+		return size ;
+	}
+
+	// Getter for the length of the longest word. No range longer than this can be a word
+	@Override
+	public int maxLength() {
+		return maxLength ;
+	}
+
+	// This method compares the word with the chars starting at the offset. The lengths are already equal
+	private static boolean regionEquals(final String word, final char[] chars, final int offset) {
+		for(int i=0 ; i<word.length() ; i++) {
+			if(word.charAt(i) != chars[offset + i]) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+
+	// Spreads the higher bits of String.hashCode() as it is weak in the lower bits for short words
+	static int mix(int hash) {
+		hash *= 0x9E3779B9 ;
+		return hash ^ (hash >>> 16) ;
+	}
+
+	// This method doubles the capacity of the table and re-inserts the words
+	private void resize() {
+		String[] oldTable = table ;
+		int[] oldHashes = hashes ;
+		table = new String[oldTable.length * 2] ;
+		hashes = new int[oldTable.length * 2] ;
+		int mask = table.length - 1 ;
+		for(int i=0 ; i<oldTable.length ; i++) {
+			if(oldTable[i] != null) {
+				int slot = mix(oldHashes[i]) & mask ;
+				while(table[slot] != null) {
+					slot = (slot + 1) & mask ;
+				}
+				table[slot] = oldTable[i] ;
+				hashes[slot] = oldHashes[i] ;
+			}
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package dynamic_programming;
+
+/* This enum lists the ways ConcatenatedWordsFinder_DP can check a single word */
+enum CheckMode {
+	TABLE,		// The 2-D substring table. O(n^3) time and O(n^2) substrings per word
+	LINEAR		// The 1-D reachability array probing the dictionary with char ranges. No substrings per word
+}
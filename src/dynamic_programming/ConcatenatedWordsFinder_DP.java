@@ -1,14 +1,17 @@
 package dynamic_programming;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.util.ArrayList;
+import java.nio.file.NoSuchFileException;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+
+import common.FinderConfig;
+import common.FinderResult;
+import common.MappedWordLoader;
+import common.Metrics;
+import common.TopKCollector;
+import suffixtree.MappedTrie;
 
 /**
  * BASIC INFORMATION
@@ -16,6 +19,12 @@ import java.util.Scanner;
  * Author: Saurabh Agrawal (saurabhagrawal0412@gmail.com)
  * This program finds the two longest concatenated words and the total count of concatenated words
  * Takes input from the file: 'E:/Java/TempWS/IBMTest/resources/words for problem.txt'
+ * The input file (a word list or a dictionary compiled by suffixtree.DictionaryCompiler), the check mode and the thread count can be passed as arguments: [path] [-mode=table|linear] [-threads=N] [-topOnly]
+ * The number of longest words and their tie-break can be passed as well: [-top=K] [-tieBreak=arrival|lexicographic] (lexicographic by default, which does not depend on the input order)
+ * The LINEAR mode can remember the suffixes that split into words across words: [-cache=entries]
+ * A Bloom filter can screen the dictionary lookups: [-bloom=falsePositiveRate] [-approximate]
+ * The output words can be printed with their parts: [-segment=first|min_parts|count_all]
+ * The dictionary can be stored in a byte arena instead of a HashSet: [-dictionary=hashset|arena]
  * 
  * EXAMPLE
  * For example, if the file contained the words:
@@ -24,13 +33,32 @@ import java.util.Scanner;
  * The total number of concatenated words is three
  * 
  * STEPS
- * 1: Store the words in the dictionary (HashSet<String>)
- * 2: Iterate the dictionary
+ * 1: Store the words in the dictionary (HashSet<String>). The file is read through MappedWordLoader
+ *    With more than one thread, the file is read as byte ranges into one word list per range, merged in file order
+ *    A compiled dictionary is mapped as a MappedTrie instead. Both modes probe it directly and no HashSet is built
+ *    The words to check are read from its word section, by decreasing length, without walking the Trie
+ *    With -dictionary=arena, the words go to a ByteArenaDictionary (one byte array, Latin-1 where possible, int hash index)
+ *    Both modes probe it directly, and the LINEAR mode decodes every word into its own buffer, so no String is created
+ * 2: Iterate the dictionary by word id (WordSource)
  * 3: For each word, use Dynamic Programming to find if a word is a concatenation of the other (smaller) words
+ *    TABLE mode fills a 2-D table of substrings, LINEAR mode (default) fills a 1-D reachability array (LinearWordBreak)
  * 4: If word is concatenated, increase the concatenatedWordCounter
- * 5: Check whether the word is longer than the words in the output list
- * 6: If it is, add it in the output list
+ * 5: Offer the word to the output collector (TopKCollector), a bounded heap of the longest words
+ * 6: The collector keeps it if it is longer than its shortest word. The String of a word is only created if it may be kept
  * 7: Print the output
+ * With more than one thread, steps 2 to 6 run as fork-join tasks (ConcatenationTask) over ranges of the dictionary
+ * Each task keeps its own count and output collector, merged at the end. Ties are ordered by the position of the word
+ * in the dictionary iteration, so the output equals a sequential run
+ * With -cache, the LINEAR check searches the suffixes of a word depth-first and stores every answer in a bounded
+ * SegmentationCache shared by all the words (and all the threads). A suffix met again in another word is not split again
+ * With -bloom, every lookup of both modes first asks a BloomFilter of the words, and only the ranges it can not rule out
+ * reach the dictionary. The answers stay exact. With -approximate as well, the filter answers alone (no exact index is built)
+ * and a false positive of the filter can count a word that is not concatenated
+ * With -topOnly, the words are bucketed by length and checked from the longest bucket down
+ * The check stops once the output list is full, as every remaining word is shorter or loses the tie. No count is computed
+ * With -Dconcatenatedwords.metrics=true, the phases, the lookups and the DP cells are counted (common.Metrics)
+ * The counters are published through JMX and printed after the output
+ * Other classes run the finder through find(FinderConfig), which uses the LINEAR mode and the byte arena
  * 
  * OUTPUT
  * Longest concatenated word: ethylenediaminetetraacetates (length = 28)
@@ -38,6 +66,7 @@ import java.util.Scanner;
  * Total number of concatenated words: 97107
  * 
  * Time taken: 1334 milliseconds (on my PC: dual core i5, 8 GB RAM, Disk drive)
+ * See README.md for the timings of the TABLE and LINEAR modes
  * Space: Lesser than 3.5 MBs
  * 
  * ADVANTAGES OF THIS APPROACH
@@ -50,10 +79,10 @@ import java.util.Scanner;
  * ALTERNATE APPROACHES
  * 1: Prefix tree (Implemented in the other program)
  * 
- * 2: Bloom Filter
+ * 2: Bloom Filter (-bloom with -approximate)
  * If the input file is even larger (in the order of GBs), then we can use Bloom Filter instead of using in memory HashSet
  * Bloom Filter would only require 1/4 space
- * But it would decrease the accuracy of the solution (Error rate: 1.0E-8)
+ * But it would decrease the accuracy of the solution (Error rate: the rate passed to -bloom)
  */
 
 /* This class contains the method to find the longest concatenated words 
@@ -62,37 +91,58 @@ public class ConcatenatedWordsFinder_DP {
 
 	private HashSet<String> dictionary ;		// Stores all unique words as dictionary for constant time access
 	private int concatenatedWordCounter = 0 ;	// Stores the number of concatenated words
-	private ArrayList<String> outputList ;		// Stores the output words
-	private int outputSize = 2 ;				// The number of longest concatenated words required
+	private TopKCollector output ;				// Stores the output words
+	private final int outputSize ;				// The number of longest concatenated words required
+	private final TopKCollector.TieBreak tieBreak ;	// Decides between output words of the same length
+	private final CheckMode mode ;				// The way every word is checked
+	private WordIndex wordIndex ;				// Used by the LINEAR mode. Built after the dictionary
+	private final int threads ;					// Number of threads checking the words
+	private final boolean topOnly ;				// Whether only the output list is required, without the count
+	private SegmentationCache cache ;			// Answers for suffixes shared by the LINEAR checks, or null
+	private double bloomRate = 0 ;				// False positive rate of the Bloom filter, zero if there is no filter
+	private boolean approximate = false ;		// Whether the Bloom filter answers without the exact dictionary
+	private BloomFilter filter ;				// Screens the dictionary lookups. Built after the dictionary, or null
+	private MappedTrie compiled ;				// The mapped compiled dictionary, or null if a word list was read
+	private WordSource source ;					// The words to check by id, listed on first use
+	private SegmentationStrategy segmentation ;	// Prints the parts of the output words, or null
+	private ByteArenaDictionary arena ;			// The dictionary with -dictionary=arena, or null for the HashSet
+	private final Metrics metrics = new Metrics("DP") ;	// Only updated with Metrics.ENABLED
+	private long noOfWords = 0 ;				// Number of words read, including the repeated ones
+	private long characterBytes = 0 ;			// Approximate size of the characters of the words read
 	
-	// Private constructor to make the main class singleton
-	private ConcatenatedWordsFinder_DP() {
+	// Default access constructor. Only main and the benchmarks of the same package create the finder
+	ConcatenatedWordsFinder_DP(CheckMode mode, int threads, boolean topOnly, int outputSize, TopKCollector.TieBreak tieBreak) {
+		this.mode = mode ;
+		this.threads = threads ;
+		this.topOnly = topOnly ;
+		this.outputSize = outputSize ;
+		this.tieBreak = tieBreak ;
 		dictionary = new HashSet<>() ;
-		outputList = new ArrayList<>() ;
+		output = new TopKCollector(outputSize, tieBreak) ;
 	}
 	
-	// This method reads the file from the given path and store the words in the dictionary
-	private void makeDictionary(final String path) {
-		
-		// Try-with-resources block to automatically close the streams
-		// 8 KB buffer provides good disk-read performance on my system
-		try(Reader reader = new BufferedReader(new FileReader(path), 8192)) {
-			Scanner sc = new Scanner(reader) ;
-			int noOfWords = 0 ;					// Counter to count the total number of words in the file
-			int bytes = 0 ;						// Counter to calculate the approximate size of the dictionary
-			while(sc.hasNext()) {
-				noOfWords++ ;
-				String word = sc.next() ;		// Ignores the blank new lines at the end of file
-				bytes += (word.length() * 2) ;	// Each character take 2 bytes
-				dictionary.add(word) ;
-			}
+	/* This method reads the file from the given path and store the words in the dictionary
+	 * A compiled dictionary is only mapped
+	 * The Bytes statistic is the heap footprint of the dictionary: the arrays of the arena, or an estimate for the HashSet */
+	void makeDictionary(final String path) {
+		try {
+			loadDictionary(path) ;
 			
 			// Printing input and memory statistics
-			System.out.println("No of words = " + noOfWords) ;
-			System.out.println("Bytes = " + bytes) ;
-			sc.close() ;
+			if(compiled != null) {
+				System.out.println("No of words = " + compiled.getWordCount() + " (compiled dictionary)") ;
+				compiled.printTrieSize() ;
+			}
+			else if(arena != null) {
+				System.out.println("No of words = " + noOfWords) ;
+				System.out.println("Bytes = " + arena.getBytes() + " (arena " + arena.getArenaBytes() + ")") ;
+			}
+			else {
+				System.out.println("No of words = " + noOfWords) ;
+				System.out.println("Bytes = " + DictionaryBuilder.estimateFootprint(dictionary) + " (estimated, characters " + characterBytes + ")") ;
+			}
 		}
-		catch(FileNotFoundException e) {
+		catch(NoSuchFileException e) {
 			System.err.println("File not found") ;
 			e.printStackTrace() ;
 		}
@@ -102,32 +152,248 @@ public class ConcatenatedWordsFinder_DP {
 		}
 	}
 	
+	// This method fills the dictionary (or the arena, or maps the compiled dictionary) without printing anything
+	private void loadDictionary(final String path) throws IOException {
+		long start = System.nanoTime() ;
+		if(MappedTrie.isCompiled(path)) {
+			compiled = MappedTrie.open(path) ;
+			noOfWords = compiled.getWordCount() ;
+			arena = null ;							// The compiled dictionary is probed in place, no arena is filled
+		}
+		else if(arena != null) {
+			// The arena copies the words out of the loader's buffer, thus the load runs on one thread
+			MappedWordLoader.load(path, arena) ;
+			noOfWords = arena.getNoOfWords() ;
+		}
+		else {
+			DictionaryBuilder builder = new DictionaryBuilder(dictionary) ;
+			// The file is memory-mapped and split on whitespace, blank lines are skipped
+			if(threads > 1) {
+				// Tokenizing and hashing run on the range threads, the merge adds the words in file order
+				for(DictionaryBuilder shard : MappedWordLoader.loadInParallel(path, threads, DictionaryBuilder::shard)) {
+					builder.merge(shard) ;
+				}
+			}
+			else {
+				MappedWordLoader.load(path, builder) ;
+			}
+			noOfWords = builder.getNoOfWords() ;
+			characterBytes = builder.getBytes() ;
+		}
+		if(Metrics.ENABLED) {
+			metrics.endLoad(start, noOfWords) ;
+		}
+	}
+	
+	// This method makes the LINEAR checks share a suffix cache of the given number of entries. Zero disables it
+	void setCacheCapacity(final int capacity) {
+		cache = (capacity > 0) ? new SegmentationCache(capacity) : null ;
+	}
+	
+	// This method stores the dictionary in a ByteArenaDictionary instead of the HashSet. It must be called before makeDictionary()
+	void useArena() {
+		arena = new ByteArenaDictionary() ;
+	}
+	
+	/* This method puts a Bloom filter of the given false positive rate in front of the dictionary lookups. Zero disables it
+	 * If approximate is true, the filter answers alone and a concatenated word may be a false positive */
+	void setBloomFilter(final double falsePositiveRate, final boolean approximate) {
+		if(approximate && falsePositiveRate <= 0) {
+			throw new IllegalArgumentException("The approximate mode needs a Bloom filter rate") ;
+		}
+		this.bloomRate = falsePositiveRate ;
+		this.approximate = approximate ;
+	}
+	
+	/* This method returns the words to check by id: the arena itself, a snapshot of the HashSet in iteration order,
+	 * or the word section of the compiled dictionary, which is read in place */
+	WordSource words() {
+		if(source == null) {
+			if(arena != null) {
+				source = arena ;
+			}
+			else if(compiled == null) {
+				source = WordSource.of(dictionary.toArray(new String[dictionary.size()])) ;
+			}
+			else {
+				source = WordSource.of(compiled) ;
+			}
+		}
+		return source ;
+	}
+	
+	// This method makes printOutputs() print the parts of every output word, split with the given strategy. Null disables it
+	void setSegmentation(final SegmentationStrategy strategy) {
+		segmentation = strategy ;
+	}
+	
+	// This method builds the Bloom filter from the dictionary, if one is required
+	void prepareBloomFilter() {
+		if(bloomRate > 0) {
+			WordSource words = words() ;
+			filter = new BloomFilter(words.size(), bloomRate) ;
+			char[] chars = new char[64] ;
+			for(int id=0 ; id<words.size() ; id++) {
+				int length = words.length(id) ;
+				if(chars.length < length) {
+					chars = new char[length * 2] ;
+				}
+				words.getChars(id, chars) ;
+				int hash = 0 ;
+				for(int i=0 ; i<length ; i++) {
+					hash = 31 * hash + chars[i] ;
+				}
+				filter.add(length, hash) ;
+			}
+		}
+	}
+	
+	/* This method builds the char range index used by the LINEAR mode from the dictionary
+	 * With a Bloom filter the index is wrapped in it. In approximate mode only the filter is used
+	 * A compiled dictionary is probed directly through its Trie */
+	void prepareLinearWordBreak() {
+		WordIndex exact = null ;
+		int maxLength = 0 ;
+		if(compiled != null) {
+			maxLength = compiled.getMaxLength() ;
+			exact = approximate ? null : new TrieWordIndex(compiled, maxLength) ;
+		}
+		else if(arena != null) {
+			maxLength = arena.maxLength() ;
+			exact = approximate ? null : arena ;
+		}
+		else if(! approximate) {
+			CharRangeHashSet index = new CharRangeHashSet(dictionary.size()) ;
+			for(String word : dictionary) {
+				index.add(word) ;
+			}
+			exact = index ;
+			maxLength = index.maxLength() ;
+		}
+		else {
+			for(String word : dictionary) {
+				maxLength = Math.max(maxLength, word.length()) ;
+			}
+		}
+		wordIndex = (filter != null) ? new FilteredWordIndex(filter, exact, maxLength) : exact ;
+	}
+	
+	/* This method returns a new check of a word id of the given words for the current mode
+	 * The LINEAR check reuses scratch buffers, thus every thread needs its own instance. The cache is shared
+	 * The TABLE mode works on substrings, thus it creates the String of the word */
+	IntPredicate newChecker(final WordSource words) {
+		if(mode == CheckMode.LINEAR) {
+			LinearWordBreak check = new LinearWordBreak(wordIndex, cache) ;
+			check.setMetrics(metrics) ;
+			return id -> check.isConcatenated(words, id) ;
+		}
+		return id -> isConcatenated(words.word(id)) ;
+	}
+	
+	// This method checks the words and records the check phase in the metrics
+	void getLargestSplittableWord() {
+		long start = System.nanoTime() ;
+		checkWords() ;
+		if(Metrics.ENABLED) {
+			metrics.endCheck(start) ;
+			metrics.addFound(concatenatedWordCounter) ;
+		}
+	}
+	
 	// This method iterates through the dictionary and find the largest concatenated words and the count of concatenated words
-	private void getLargestSplittableWord() {
-		Iterator<String> it = dictionary.iterator() ;
+	private void checkWords() {
+		prepareBloomFilter() ;
+		if(mode == CheckMode.LINEAR) {
+			prepareLinearWordBreak() ;
+		}
+		if(topOnly) {
+			getLargestSplittableWordOnly() ;
+			return ;
+		}
+		if(threads > 1) {
+			getLargestSplittableWordInParallel() ;
+			return ;
+		}
+		WordSource words = words() ;
+		IntPredicate checker = newChecker(words) ;
 		
-		while(it.hasNext()) {
-			String word = it.next() ;
-
-			// If the word is concatenated, we increment the concatenatedWordCounter and call the addToOutputList method
-			if(isConcatenated(word)) {
+		// The id is the position of the word in iteration order, used for the ties
+		for(int id=0 ; id<words.size() ; id++) {
+			// If the word is concatenated, we increment the concatenatedWordCounter and offer it to the output
+			if(checker.test(id)) {
 				concatenatedWordCounter++ ;
-				if(isEligibleOutput(word)) {
-					addToOutputList(word) ;
+				if(output.accepts(words.length(id))) {	// Only a word that may be kept is turned into a String
+					output.offer(words.word(id), id) ;
 				}
 			}
 		}
 	}
 	
+	/* This method only finds the longest concatenated words
+	 * The ids are sorted by decreasing length, and by id within a length, so the ties are resolved as in the full run
+	 * It stops once the output is full and no remaining word could win a tie, at the latest after the current length */
+	private void getLargestSplittableWordOnly() {
+		WordSource words = words() ;
+		int[] ids = idsByLength(words) ;
+		IntPredicate checker = newChecker(words) ;
+		for(int i=0 ; i<ids.length && output.accepts(words.length(ids[i])) ; i++) {
+			// With ARRIVAL, a later word of the same length never beats a kept word
+			if(output.isFull() && tieBreak == TopKCollector.TieBreak.ARRIVAL) {
+				return ;
+			}
+			if(checker.test(ids[i])) {
+				output.offer(words.word(ids[i]), ids[i]) ;
+			}
+		}
+	}
+	
+	// This method sorts the word ids by decreasing length with a counting sort. Equal lengths keep increasing ids
+	private static int[] idsByLength(final WordSource words) {
+		int maxLength = 0 ;
+		for(int id=0 ; id<words.size() ; id++) {
+			maxLength = Math.max(maxLength, words.length(id)) ;
+		}
+		int[] starts = new int[maxLength + 2] ;		// starts[maxLength - length] is the first index of a length
+		for(int id=0 ; id<words.size() ; id++) {
+			starts[maxLength - words.length(id) + 1]++ ;
+		}
+		for(int i=1 ; i<starts.length ; i++) {
+			starts[i] += starts[i - 1] ;
+		}
+		int[] ids = new int[words.size()] ;
+		for(int id=0 ; id<words.size() ; id++) {
+			ids[starts[maxLength - words.length(id)]++] = id ;
+		}
+		return ids ;
+	}
+	
+	/* This method checks the words on a fork-join pool of the given number of threads
+	 * The dictionary is only read from here on, the tasks work on ranges of word ids */
+	private void getLargestSplittableWordInParallel() {
+		WordSource words = words() ;
+		// Around eight ranges per thread, so that threads finishing early can steal the remaining ranges
+		int threshold = Math.max(256, words.size() / (threads * 8)) ;
+		ForkJoinPool pool = new ForkJoinPool(threads) ;
+		try {
+			ConcatenationTask.PartialResult result = pool.invoke(new ConcatenationTask(words, 0, words.size(), threshold, () -> new TopKCollector(outputSize, tieBreak), () -> newChecker(words))) ;
+			concatenatedWordCounter = result.count ;
+			output = result.output ;
+		}
+		finally {
+			pool.shutdown() ;
+		}
+	}
+	
 	/* This method uses Dynamic Programming to find whether the given word
 	 * could be created by concatenating other words in the dictionary */
-	private boolean isConcatenated(final String word) {
+	boolean isConcatenated(final String word) {
 		
 		boolean[][] table = new boolean[word.length()][word.length()] ;
 		/* This table stores whether the substrings are valid dictionary words or not
 		 * It gets filled diagonally with the first diagonal being [0][0] to [n-1][n-1]
 		 */
 
+		long hits = 0 ;								// Only counted with Metrics.ENABLED
 		// We increase the substring length from 1 to word length
 		for (int substrLength = 1 ; substrLength <= word.length() ; substrLength++) {
 			
@@ -140,7 +406,11 @@ public class ConcatenatedWordsFinder_DP {
 
 				/* If the dictionary contains the substring and the substring is not equal to word,
 				 * we set the table entry for that substring to true */
-				if (dictionary.contains(subStr) && !(subStr.equals(word))) {
+				boolean isWord = inDictionary(subStr) ;
+				if (Metrics.ENABLED && isWord) {
+					hits++ ;
+				}
+				if (isWord && !(subStr.equals(word))) {
 					table[startIndex][endIndex] = true ;
 				}
 				/* Otherwise we check if the substring could be broken into two such that each part is a valid dictionary word */
@@ -157,52 +427,127 @@ public class ConcatenatedWordsFinder_DP {
 				}
 			}
 		}
+		if (Metrics.ENABLED) {
+			long cells = (long) word.length() * (word.length() + 1) / 2 ;	// Every cell of the upper triangle probes its substring
+			metrics.addCells(cells) ;
+			metrics.addProbes(cells, hits) ;
+		}
 		return table[0][word.length() - 1] ;	// The output is obtained at the last column of the first row
 	}
 	
-	// This method only returns false if provided word is shorter than the full output list's last element
-	private boolean isEligibleOutput(final String word) {
-		if(outputList.size() == outputSize && word.length() < outputList.get(outputSize-1).length()) {
+	// This method checks whether the substring is a word, asking the Bloom filter first if there is one
+	private boolean inDictionary(final String subStr) {
+		if(filter != null && ! filter.mightContain(subStr.length(), subStr.hashCode())) {
 			return false ;
 		}
-		return true ;
-	}
-	
-	/* This method maintains the output list
-	 * The output (Array)list stores the words in decreasing length | list[0] | >= | list[1] |*/
-	private void addToOutputList(final String word) {
-		if(outputList.size() < outputSize) {
-			outputList.add(word) ;
-			return ;
+		if(approximate) {
+			return true ;
 		}
-		
-		// Stores the current word if the length of the current word is greater than ith word in the list
-		for(int i=0 ; i<outputList.size() ; i++) {
-			if(word.length() > outputList.get(i).length()) {
-				outputList.add(i, word) ;
-				break ;
-			}
-		}
-		
-		// Maintains the size of the output list if it gets larger than the required output size
-		if(outputList.size() > outputSize) {
-			outputList.remove(outputSize) ;
+		if(arena != null) {
+			return arena.contains(subStr) ;
 		}
+		return (compiled != null) ? compiled.containsWord(subStr) : dictionary.contains(subStr) ;
 	}
 	
 	// This method prints the output list and the count of concatenated words
 	private void printOutputs() {
 		System.out.println("Printing output list") ;
-		for(String word: outputList) {
-			System.out.println(word) ;
+		if(segmentation != null && wordIndex == null) {
+			prepareLinearWordBreak() ;				// The TABLE mode keeps no split points, the parts come from a LINEAR pass
+		}
+		LinearWordBreak splitter = (segmentation != null) ? new LinearWordBreak(wordIndex) : null ;
+		for(String word: output.toList()) {
+			System.out.println((splitter != null) ? splitter.segment(word, segmentation).toString() : word) ;
 		}
 		
-		System.out.println("Count of splittable words = " + concatenatedWordCounter) ;
+		if(topOnly) {
+			System.out.println("Count of splittable words = not computed (-topOnly)") ;
+		}
+		else {
+			System.out.println("Count of splittable words = " + concatenatedWordCounter) ;
+		}
+		if(cache != null && mode == CheckMode.LINEAR) {
+			System.out.println("Suffix cache hits = " + cache.getHits() + ", misses = " + cache.getMisses()) ;
+		}
+		if(filter != null) {
+			System.out.println("Bloom filter bytes = " + filter.getBytes() + ", hash functions = " + filter.getHashCount()
+					+ (approximate ? " (approximate)" : "")) ;
+		}
+	}
+	
+	/* This method runs the finder for the configuration, without printing anything
+	 * The words are stored in the byte arena and checked in the LINEAR mode, the fastest and smallest combination */
+	public static FinderResult find(final FinderConfig config) throws IOException {
+		ConcatenatedWordsFinder_DP finder = new ConcatenatedWordsFinder_DP(CheckMode.LINEAR, config.getThreads(), config.isTopOnly(), config.getOutputSize(), config.getTieBreak()) ;
+		finder.useArena() ;
+		return finder.run(config.getPath()) ;
+	}
+	
+	/* This method loads the file and checks its words with the settings of the finder, without printing anything
+	 * find() and the checks of the test folder run the finder through it */
+	FinderResult run(final String path) throws IOException {
+		long millis1 = System.currentTimeMillis() ;
+		loadDictionary(path) ;
+		getLargestSplittableWord() ;
+		long count = topOnly ? -1 : concatenatedWordCounter ;
+		return new FinderResult("DP", count, output.toList(), System.currentTimeMillis() - millis1) ;
 	}
 	
 	public static void main(String[] args) {
-		ConcatenatedWordsFinder_DP test = new ConcatenatedWordsFinder_DP() ;
 		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		CheckMode mode = CheckMode.LINEAR ;
+		int threads = 1 ;
+		boolean topOnly = false ;
+		int outputSize = 2 ;
+		TopKCollector.TieBreak tieBreak = TopKCollector.TieBreak.LEXICOGRAPHIC ;
+		int cacheCapacity = 0 ;
+		double bloomRate = 0 ;
+		boolean approximate = false ;
+		SegmentationStrategy segmentation = null ;
+		boolean useArena = false ;
+		for(String arg : args) {
+			if(arg.startsWith("-mode=")) {
+				mode = CheckMode.valueOf(arg.substring("-mode=".length()).toUpperCase()) ;
+			}
+			else if(arg.startsWith("-threads=")) {
+				threads = Integer.parseInt(arg.substring("-threads=".length())) ;
+			}
+			else if(arg.equals("-topOnly")) {
+				topOnly = true ;
+			}
+			else if(arg.startsWith("-top=")) {
+				outputSize = Integer.parseInt(arg.substring("-top=".length())) ;
+			}
+			else if(arg.startsWith("-tieBreak=")) {
+				tieBreak = TopKCollector.TieBreak.valueOf(arg.substring("-tieBreak=".length()).toUpperCase()) ;
+			}
+			else if(arg.startsWith("-cache=")) {
+				cacheCapacity = Integer.parseInt(arg.substring("-cache=".length())) ;
+			}
+			else if(arg.startsWith("-bloom=")) {
+				bloomRate = Double.parseDouble(arg.substring("-bloom=".length())) ;
+			}
+			else if(arg.equals("-approximate")) {
+				approximate = true ;
+			}
+			else if(arg.startsWith("-segment=")) {
+				segmentation = SegmentationStrategy.valueOf(arg.substring("-segment=".length()).toUpperCase()) ;
+			}
+			else if(arg.startsWith("-dictionary=")) {
+				useArena = "arena".equalsIgnoreCase(arg.substring("-dictionary=".length())) ;
+			}
+			else {
+				path = arg ;
+			}
+		}
+		ConcatenatedWordsFinder_DP test = new ConcatenatedWordsFinder_DP(mode, threads, topOnly, outputSize, tieBreak) ;
+		test.metrics.register() ;					// Only with -Dconcatenatedwords.metrics=true
+		test.setCacheCapacity(cacheCapacity) ;
+		test.setBloomFilter(bloomRate, approximate) ;
+		test.setSegmentation(segmentation) ;
+		if(useArena) {
+			test.useArena() ;
+		}
 		
 		long millis1 = System.currentTimeMillis() ;
 		
@@ -213,5 +558,6 @@ public class ConcatenatedWordsFinder_DP {
 		
 		System.out.printf("Time taken = %d milliseconds\n", (millis2 - millis1)) ;
 		test.printOutputs() ;
+		test.metrics.print() ;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import common.FinderConfig;
+import common.FinderResult;
+import common.Metrics;
+import common.TopKCollector;
+
+/**
+ * BASIC INFORMATION
+ * This program finds the longest concatenated words and the total count of concatenated words
+ * of a word list that does not fit in memory
+ * Takes input from the file: 'E:/Java/TempWS/IBMTest/resources/words for problem.txt'
+ * The input file, the directory of the temporary files and the number of words per sorted run can be passed as arguments: [path] [-tmp=directory] [-runWords=N]
+ * The number of longest words and their tie-break can be passed as well: [-top=K] [-tieBreak=arrival|lexicographic] (lexicographic by default, which does not depend on the input order)
+ * 
+ * STEPS
+ * 1: Read the file and sort its words by length, then lexicographically, with an external sort (ExternalSorter)
+ *    A compiled dictionary (suffixtree.DictionaryCompiler) is not read as text: its MappedTrie lists the words
+ *    Every runWords words are sorted in memory and spilled to a run file on disk
+ * 2: Merge the runs (RunMerger). The words come out from the shortest up, each word once
+ * 3: Check every word with the LINEAR check (LinearWordBreak) against an index of the words merged before it
+ *    The parts of a concatenated word are shorter than the word, so they are all in the index already
+ *    The index (MappedWordIndex) is an open-addressing table in memory-mapped temporary files, not in the heap
+ * 4: If word is concatenated, count it and offer it to the output collector (TopKCollector)
+ * 5: Add the word to the index and print the output once every word is merged
+ * The heap holds the words of one run, a read buffer per run (at most ExternalSorter.FAN_IN) and the output list,
+ * whatever the size of the file
+ * The words reach the output collector in sorted order, thus with -tieBreak=arrival the ties are lexicographic as well
+ * With -Dconcatenatedwords.metrics=true, the phases, the lookups and the DP cells are counted (common.Metrics)
+ * Other classes run the finder through find(FinderConfig). The count is always computed and the threads are not used
+ */
+
+/* This class contains the method to find the longest concatenated words
+ * and the count of concatenated words in a file larger than the memory */
+public class ConcatenatedWordsFinder_External {
+
+	static final int DEFAULT_RUN_WORDS = 1000000 ;		// Words sorted in memory at a time, unless -runWords is given
+
+	private final Path directory ;						// Receives the runs and the index files
+	private final int runWords ;						// Number of words sorted in memory at a time
+	private final TopKCollector output ;				// Stores the output words
+	private long concatenatedWordCounter = 0 ;			// Stores the number of concatenated words
+	private long noOfWords = 0 ;						// Number of words read, including the repeated ones
+	private long uniqueWords = 0 ;						// Number of words checked
+	private int noOfRuns = 0 ;							// Number of runs of the final merge
+	private long indexBytes = 0 ;						// Size of the index files
+	private final Metrics metrics = new Metrics("External") ;	// Only updated with Metrics.ENABLED
+
+	// Default access constructor. The finder is created by main and by find(FinderConfig)
+	ConcatenatedWordsFinder_External(Path directory, int runWords, int outputSize, TopKCollector.TieBreak tieBreak) {
+		this.directory = directory ;
+		this.runWords = runWords ;
+		output = new TopKCollector(outputSize, tieBreak) ;
+	}
+
+	/* This method sorts the words of the file on disk and checks them from the shortest up
+	 * The runs and the index files are deleted before it returns */
+	void findConcatenatedWords(final String path) throws IOException {
+		long start = System.nanoTime() ;
+		ExternalSorter sorter = new ExternalSorter(directory, runWords) ;
+		List<Path> runs = sorter.sort(path) ;
+		noOfWords = sorter.getNoOfWords() ;
+		noOfRuns = runs.size() ;
+		if(Metrics.ENABLED) {
+			metrics.endLoad(start, noOfWords) ;
+		}
+
+		long checkStart = System.nanoTime() ;
+		try(RunMerger merger = new RunMerger(runs) ; MappedWordIndex index = new MappedWordIndex(directory, Math.max(1, noOfWords))) {
+			LinearWordBreak check = new LinearWordBreak(index) ;
+			check.setMetrics(metrics) ;
+			for(String word = merger.next() ; word != null ; word = merger.next()) {
+				// Only the words merged before are probed, as every probed range is shorter than the word
+				if(check.isConcatenated(word)) {
+					concatenatedWordCounter++ ;
+					output.offer(word, uniqueWords) ;
+				}
+				index.add(word) ;
+				uniqueWords++ ;
+			}
+			indexBytes = index.getBytes() ;
+		}
+		finally {
+			for(Path run : runs) {
+				Files.deleteIfExists(run) ;
+			}
+		}
+		if(Metrics.ENABLED) {
+			metrics.endCheck(checkStart) ;
+			metrics.addFound(concatenatedWordCounter) ;
+		}
+	}
+
+	// This method prints the output list, the count of concatenated words and the disk statistics
+	private void printOutputs() {
+		System.out.println("No of words = " + noOfWords + ", unique = " + uniqueWords + ", runs = " + noOfRuns) ;
+		System.out.println("Index bytes = " + indexBytes + " (memory-mapped)") ;
+		System.out.println("Printing output list") ;
+		for(String word : output.toList()) {
+			System.out.println(word) ;
+		}
+		System.out.println("Count of splittable words = " + concatenatedWordCounter) ;
+	}
+
+	// This method runs the finder for the configuration, with the default run size, without printing anything
+	public static FinderResult find(final FinderConfig config) throws IOException {
+		ConcatenatedWordsFinder_External finder = new ConcatenatedWordsFinder_External(config.getTempDirectory(), DEFAULT_RUN_WORDS, config.getOutputSize(), config.getTieBreak()) ;
+		return finder.run(config.getPath()) ;
+	}
+
+	/* This method checks the words of the file with the settings of the finder, without printing anything
+	 * find() and the checks of the test folder run the finder through it */
+	FinderResult run(final String path) throws IOException {
+		long millis1 = System.currentTimeMillis() ;
+		findConcatenatedWords(path) ;
+		return new FinderResult("External", concatenatedWordCounter, output.toList(), System.currentTimeMillis() - millis1) ;
+	}
+
+	public static void main(String[] args) {
+		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		Path directory = Paths.get(System.getProperty("java.io.tmpdir")) ;
+		int runWords = DEFAULT_RUN_WORDS ;
+		int outputSize = 2 ;
+		TopKCollector.TieBreak tieBreak = TopKCollector.TieBreak.LEXICOGRAPHIC ;
+		for(String arg : args) {
+			if(arg.startsWith("-tmp=")) {
+				directory = Paths.get(arg.substring("-tmp=".length())) ;
+			}
+			else if(arg.startsWith("-runWords=")) {
+				runWords = Integer.parseInt(arg.substring("-runWords=".length())) ;
+			}
+			else if(arg.startsWith("-top=")) {
+				outputSize = Integer.parseInt(arg.substring("-top=".length())) ;
+			}
+			else if(arg.startsWith("-tieBreak=")) {
+				tieBreak = TopKCollector.TieBreak.valueOf(arg.substring("-tieBreak=".length()).toUpperCase()) ;
+			}
+			else {
+				path = arg ;
+			}
+		}
+		ConcatenatedWordsFinder_External finder = new ConcatenatedWordsFinder_External(directory, runWords, outputSize, tieBreak) ;
+		finder.metrics.register() ;						// Only with -Dconcatenatedwords.metrics=true
+
+		long millis1 = System.currentTimeMillis() ;
+		try {
+			finder.findConcatenatedWords(path) ;
+		}
+		catch(NoSuchFileException e) {
+			System.err.println("File not found") ;
+			e.printStackTrace() ;
+			return ;
+		}
+		catch(IOException e) {
+			System.err.println("IO exception") ;
+			e.printStackTrace() ;
+			return ;
+		}
+		long millis2 = System.currentTimeMillis() ;
+
+		System.out.printf("Time taken = %d milliseconds\n", (millis2 - millis1)) ;
+		finder.printOutputs() ;
+		finder.metrics.print() ;
+	}
+}
@@ -0,0 +1,191 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+
+import common.MappedWordLoader;
+
+/* This class keeps the dictionary and the set of concatenated words live while words are added and removed
+ * Whether a word is concatenated only depends on the dictionary words it contains. Thus, after a change of w,
+ * only the words containing w are checked again:
+ * adding w can only turn words containing w into concatenated words (and w itself is checked once)
+ * removing w can only turn concatenated words containing w back into plain words
+ * The words containing w are found through a TrigramIndex, which also indexes the grams of one and two characters,
+ * so the changes of short words are looked up as well instead of scanning all the words
+ * The id of a removed word is reused by the next added word, so the ids and the posting lists do not grow with the churn
+ * The concatenated words are kept in a TreeSet from the longest word down (lexicographic between equal lengths),
+ * thus the count and the longest words are read without a recompute
+ * The methods are synchronized, so one index can be shared by threads */
+public class ConcatenatedWordsIndex {
+
+	// Orders the concatenated words from the longest down, then lexicographically
+	private static final Comparator<String> LONGEST_FIRST = Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()) ;
+
+	private final CharRangeHashSet dictionary = new CharRangeHashSet(1024) ;	// The current words
+	private final LinearWordBreak checker = new LinearWordBreak(dictionary) ;	// Checks a word against the current words
+	private final HashMap<String, Integer> ids = new HashMap<>() ;			// The id of every current word
+	private final ArrayList<String> words = new ArrayList<>() ;				// The word of every id, null once removed
+	private int[] freeIds = new int[16] ;									// The ids of removed words, reused first
+	private int freeCount = 0 ;												// Number of ids in freeIds
+	private final TrigramIndex trigrams = new TrigramIndex() ;				// Finds the words containing a word
+	private final TreeSet<String> concatenated = new TreeSet<>(LONGEST_FIRST) ;	// The current concatenated words
+	private long rechecked = 0 ;											// Number of words checked again by the updates
+
+	// Creates an empty index
+	public ConcatenatedWordsIndex() {
+	}
+
+	/* This method creates an index of the words of the file
+	 * The words are all added first and checked once afterwards, which is cheaper than adding them one by one */
+	public static ConcatenatedWordsIndex load(final String path) throws IOException {
+		ConcatenatedWordsIndex index = new ConcatenatedWordsIndex() ;
+		MappedWordLoader.load(path, (chars, offset, length) -> index.insert(new String(chars, offset, length))) ;
+		for(String word : index.words) {
+			if(index.checker.isConcatenated(word)) {
+				index.concatenated.add(word) ;
+			}
+		}
+		return index ;
+	}
+
+	/* This method adds the word and updates the concatenated words. It returns false if the word was present
+	 * The words containing the new word that were not concatenated are checked again */
+	public synchronized boolean addWord(final String word) {
+		if(! insert(word)) {
+			return false ;
+		}
+		if(checker.isConcatenated(word)) {
+			concatenated.add(word) ;
+		}
+		for(String container : containing(word)) {
+			if(! concatenated.contains(container)) {
+				rechecked++ ;
+				if(checker.isConcatenated(container)) {
+					concatenated.add(container) ;
+				}
+			}
+		}
+		return true ;
+	}
+
+	/* This method removes the word and updates the concatenated words. It returns false if the word was not present
+	 * The concatenated words containing the removed word are checked again */
+	public synchronized boolean removeWord(final String word) {
+		Integer id = ids.remove(word) ;
+		if(id == null) {
+			return false ;
+		}
+		words.set(id, null) ;
+		trigrams.remove(word, id) ;
+		if(freeCount == freeIds.length) {
+			freeIds = Arrays.copyOf(freeIds, freeCount * 2) ;
+		}
+		freeIds[freeCount++] = id ;
+		dictionary.remove(word) ;
+		concatenated.remove(word) ;
+		for(String container : containing(word)) {
+			if(concatenated.contains(container)) {
+				rechecked++ ;
+				if(! checker.isConcatenated(container)) {
+					concatenated.remove(container) ;
+				}
+			}
+		}
+		return true ;
+	}
+
+	// Returns whether the word is a current concatenated word
+	public synchronized boolean isConcatenated(final String word) {
+		return concatenated.contains(word) ;
+	}
+
+	// Returns the number of current concatenated words
+	public synchronized int getCount() {
+		return concatenated.size() ;
+	}
+
+	// Returns the given number of longest concatenated words, from the longest down
+	public synchronized List<String> getLongest(final int count) {
+		List<String> longest = new ArrayList<>(count) ;
+		for(String word : concatenated) {
+			if(longest.size() == count) {
+				break ;
+			}
+			longest.add(word) ;
+		}
+		return longest ;
+	}
+
+	// Returns the number of current words
+	public synchronized int getWordCount() {
+		return ids.size() ;
+	}
+
+	// Returns the number of words checked again by the updates so far
+	public synchronized long getRechecked() {
+		return rechecked ;
+	}
+
+	// This method adds the word to the dictionary and the trigram index without checking anything
+	private boolean insert(final String word) {
+		if(ids.containsKey(word)) {
+			return false ;
+		}
+		int id ;
+		if(freeCount > 0) {
+			id = freeIds[--freeCount] ;
+			words.set(id, word) ;
+		}
+		else {
+			id = words.size() ;
+			words.add(word) ;
+		}
+		ids.put(word, id) ;
+		dictionary.add(word) ;
+		trigrams.add(word, id) ;
+		return true ;
+	}
+
+	// This method returns the current words, other than the word itself, containing the word
+	private List<String> containing(final String word) {
+		List<String> result = new ArrayList<>() ;
+		for(int id : trigrams.candidates(word)) {
+			String candidate = words.get(id) ;
+			if(candidate.length() > word.length() && candidate.contains(word)) {
+				result.add(candidate) ;
+			}
+		}
+		return result ;
+	}
+
+	/* The arguments are the input file followed by the changes: +word adds a word, -word removes a word
+	 * The count and the longest words are printed after every change */
+	public static void main(String[] args) throws IOException {
+		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		int first = 0 ;
+		if(args.length > 0 && ! args[0].startsWith("+") && ! args[0].startsWith("-")) {
+			path = args[0] ;
+			first = 1 ;
+		}
+		long millis1 = System.currentTimeMillis() ;
+		ConcatenatedWordsIndex index = load(path) ;
+		long millis2 = System.currentTimeMillis() ;
+		System.out.printf("Loaded %d words in %d milliseconds\n", index.getWordCount(), (millis2 - millis1)) ;
+		System.out.println("Count of concatenated words = " + index.getCount() + ", longest = " + index.getLongest(2)) ;
+
+		for(int i=first ; i<args.length ; i++) {
+			String word = args[i].substring(1) ;
+			long start = System.nanoTime() ;
+			boolean changed = args[i].startsWith("+") ? index.addWord(word) : index.removeWord(word) ;
+			long micros = (System.nanoTime() - start) / 1000 ;
+			System.out.printf("%s: %s in %d microseconds, count = %d, longest = %s\n", args[i], changed ? "applied" : "no change",
+					micros, index.getCount(), index.getLongest(2)) ;
+		}
+		System.out.println("Words checked again = " + index.getRechecked()) ;
+	}
+}
@@ -0,0 +1,71 @@
+package dynamic_programming;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import common.TopKCollector;
+
+/* This fork-join task checks a range of the dictionary words and returns the partial result of the range
+ * The words are only read, so the ranges run on different threads without locking
+ * The output collectors use the id of the word as sequence number, which keeps the output equal to a sequential run
+ * A String is only created for the concatenated words the output collector of the range accepts */
+class ConcatenationTask extends RecursiveTask<ConcatenationTask.PartialResult> {
+
+	private static final long serialVersionUID = 1L ;
+
+	private final WordSource words ;					// The dictionary words in iteration order
+	private final int from ;							// First id of the range (inclusive)
+	private final int to ;								// Last id of the range (exclusive)
+	private final int threshold ;						// Ranges of at most this many words are checked without splitting
+	private final Supplier<TopKCollector> collectors ;	// Creates the output collector of a range
+	private final Supplier<IntPredicate> checkers ;		// Creates one check of a word id per leaf, as a check may hold scratch buffers
+
+	// Default access constructor for package only access
+	ConcatenationTask(WordSource words, int from, int to, int threshold, Supplier<TopKCollector> collectors, Supplier<IntPredicate> checkers) {
+		this.words = words ;
+		this.from = from ;
+		this.to = to ;
+		this.threshold = threshold ;
+		this.collectors = collectors ;
+		this.checkers = checkers ;
+	}
+
+	@Override
+	protected PartialResult compute() {
+		if(to - from <= threshold) {
+			PartialResult result = new PartialResult(collectors.get()) ;
+			IntPredicate isConcatenated = checkers.get() ;
+			for(int id=from ; id<to ; id++) {
+				if(isConcatenated.test(id)) {
+					result.count++ ;
+					if(result.output.accepts(words.length(id))) {
+						result.output.offer(words.word(id), id) ;
+					}
+				}
+			}
+			return result ;
+		}
+
+		int middle = (from + to) >>> 1 ;
+		ConcatenationTask left = new ConcatenationTask(words, from, middle, threshold, collectors, checkers) ;
+		ConcatenationTask right = new ConcatenationTask(words, middle, to, threshold, collectors, checkers) ;
+		left.fork() ;
+		PartialResult rightResult = right.compute() ;
+		PartialResult result = left.join() ;
+
+		result.count += rightResult.count ;
+		result.output.merge(rightResult.output) ;
+		return result ;
+	}
+
+	/* This is a bean class for the count and the output of a range */
+	static class PartialResult {
+		int count = 0 ;									// Number of concatenated words in the range
+		final TopKCollector output ;					// Longest concatenated words of the range
+
+		PartialResult(TopKCollector output) {
+			this.output = output ;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package dynamic_programming;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+
+import common.WordConsumer;
+
+/* This class collects the words read by the loader into a dictionary and keeps the input statistics
+ * A parallel load uses one builder per byte range (a shard) and merges the shards in file order
+ * A shard keeps its words in a list, in file order, so the merge adds every word to the HashSet in the same order
+ * as a sequential load. The HashSet then iterates in the same order, which gives the same word ids and arrival ties */
+class DictionaryBuilder implements WordConsumer {
+
+	private final Collection<String> words ;		// The dictionary receiving the unique words, or the words of a shard in file order
+	private long noOfWords = 0 ;					// Counter to count the total number of words in the file
+	private long bytes = 0 ;						// Counter to calculate the approximate size of the dictionary
+
+	// Default access constructor for package only access
+	DictionaryBuilder(HashSet<String> dictionary) {
+		this.words = dictionary ;
+	}
+
+	// Private constructor for the builder of a shard
+	private DictionaryBuilder(ArrayList<String> shardWords) {
+		this.words = shardWords ;
+	}
+
+	// This method returns the builder of one byte range of a parallel load
+	static DictionaryBuilder shard() {
+		return new DictionaryBuilder(new ArrayList<String>()) ;
+	}
+
+	@Override
+	public void accept(char[] chars, int offset, int length) {
+		noOfWords++ ;
+		bytes += (length * 2) ;						// Each character take 2 bytes
+		String word = new String(chars, offset, length) ;
+		word.hashCode() ;							// The String caches its hash, thus hashing runs on the range thread of a shard
+		words.add(word) ;
+	}
+
+	// This method adds the words and the statistics of a shard in file order. A word repeated across shards is stored once
+	void merge(DictionaryBuilder shard) {
+		words.addAll(shard.words) ;
+		noOfWords += shard.noOfWords ;
+		bytes += shard.bytes ;
+	}
+
+	// Getter for the number of words read, including the repeated ones
+	long getNoOfWords() {
+		return noOfWords ;
+	}
+
+	/* This method estimates the heap footprint of a HashSet of Strings, with the JDK 8 layout and compressed references:
+	 * per word a HashMap node (32 bytes), a String (24 bytes) and its char[] (16 bytes + 2 per char, 8-byte aligned),
+	 * plus the bucket array (4 bytes per bucket) and the HashSet and HashMap objects */
+	static long estimateFootprint(HashSet<String> words) {
+		long buckets = 16 ;
+		while(buckets * 3 / 4 < words.size()) {
+			buckets <<= 1 ;
+		}
+		long bytes = 16 + 48 + 16 + 4 * buckets ;
+		for(String word : words) {
+			bytes += 32 + 24 + ((16 + 2L * word.length() + 7) & ~7L) ;
+		}
+		return bytes ;
+	}
+
+	// Getter for the approximate size of the words read
+	long getBytes() {
+		return bytes ;
+	}
+}
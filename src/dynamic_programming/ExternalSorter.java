@@ -0,0 +1,166 @@
+package dynamic_programming;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import common.MappedWordLoader;
+import common.WordConsumer;
+import suffixtree.MappedTrie;
+
+/* This class sorts the words of a file by length (then lexicographically) without holding the whole file in memory
+ * The words are collected until runWords of them are buffered. The buffer is then sorted and written to a run file
+ * without its repeated words, and cleared
+ * If there are more runs than FAN_IN, groups of FAN_IN runs are merged into longer runs until FAN_IN runs are left,
+ * so the final merge (RunMerger) keeps at most FAN_IN runs open
+ * The heap holds at most runWords words at a time, whatever the size of the file
+ * The words of a compiled dictionary are listed through its MappedTrie instead of being read as text
+ * If sort() fails, every run file it created is deleted before the exception is passed on */
+class ExternalSorter implements WordConsumer {
+
+	static final Comparator<String> ORDER = Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()) ;
+	static final int FAN_IN = 64 ;						// Largest number of runs merged at once
+
+	private final Path directory ;						// Receives the run files
+	private final int runWords ;						// Number of words buffered before a run is written
+	private final ArrayList<String> buffer ;
+	private final List<Path> runs = new ArrayList<>() ;
+	private final List<Path> created = new ArrayList<>() ;	// Every run file created, deleted if the sort fails
+	private long noOfWords = 0 ;						// Number of words read, including the repeated ones
+
+	// Default access constructor for package only access
+	ExternalSorter(Path directory, int runWords) {
+		if(runWords <= 0) {
+			throw new IllegalArgumentException("The run size must be positive: " + runWords) ;
+		}
+		this.directory = directory ;
+		this.runWords = runWords ;
+		buffer = new ArrayList<>(runWords) ;
+	}
+
+	/* This method reads the file and returns the sorted runs, at most FAN_IN of them
+	 * The caller owns the run files and deletes them after the merge */
+	List<Path> sort(final String path) throws IOException {
+		try {
+			load(path) ;
+			if(! buffer.isEmpty()) {
+				spill() ;
+			}
+			while(runs.size() > FAN_IN) {
+				List<Path> merged = new ArrayList<>() ;
+				for(int i=0 ; i<runs.size() ; i+=FAN_IN) {
+					merged.add(merge(runs.subList(i, Math.min(runs.size(), i + FAN_IN)))) ;
+				}
+				runs.clear() ;
+				runs.addAll(merged) ;
+			}
+			return runs ;
+		}
+		catch(IOException | RuntimeException e) {
+			for(Path run : created) {
+				try {
+					Files.deleteIfExists(run) ;
+				}
+				catch(IOException suppressed) {
+					e.addSuppressed(suppressed) ;
+				}
+			}
+			throw e ;
+		}
+	}
+
+	// This method passes every word of the file to accept(), from a word list or from a compiled dictionary
+	private void load(final String path) throws IOException {
+		try {
+			if(MappedTrie.isCompiled(path)) {
+				MappedTrie.open(path).forEachWord(this::add) ;
+			}
+			else {
+				MappedWordLoader.load(path, this) ;
+			}
+		}
+		catch(UncheckedIOException e) {
+			throw e.getCause() ;						// A run could not be written while the file was read
+		}
+	}
+
+	// This method buffers a word read by the loader
+	@Override
+	public void accept(final char[] chars, final int offset, final int length) {
+		add(new String(chars, offset, length)) ;
+	}
+
+	// This method buffers a word and writes a run once the buffer is full
+	private void add(final String word) {
+		noOfWords++ ;
+		buffer.add(word) ;
+		if(buffer.size() >= runWords) {
+			try {
+				spill() ;
+			}
+			catch(IOException e) {
+				throw new UncheckedIOException(e) ;		// The loader only passes unchecked exceptions on
+			}
+		}
+	}
+
+	// Getter for the number of words read, including the repeated ones
+	long getNoOfWords() {
+		return noOfWords ;
+	}
+
+	// This method sorts the buffer and writes it as a new run, each word once
+	private void spill() throws IOException {
+		buffer.sort(ORDER) ;
+		Path run = createRun() ;
+		try(DataOutputStream out = openRun(run)) {
+			String previous = null ;
+			for(String word : buffer) {
+				if(! word.equals(previous)) {
+					writeWord(out, word) ;
+					previous = word ;
+				}
+			}
+		}
+		buffer.clear() ;
+		runs.add(run) ;
+	}
+
+	// This method merges the given runs into a new run and deletes them
+	private Path merge(final List<Path> group) throws IOException {
+		Path run = createRun() ;
+		try(RunMerger merger = new RunMerger(group) ; DataOutputStream out = openRun(run)) {
+			for(String word = merger.next() ; word != null ; word = merger.next()) {
+				writeWord(out, word) ;
+			}
+		}
+		for(Path path : group) {
+			Files.deleteIfExists(path) ;
+		}
+		return run ;
+	}
+
+	// This method creates an empty run file and remembers it for the cleanup of a failed sort
+	private Path createRun() throws IOException {
+		Path run = Files.createTempFile(directory, "run", ".bin") ;
+		created.add(run) ;
+		return run ;
+	}
+
+	// This method opens a run file for writing
+	private static DataOutputStream openRun(final Path run) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16)) ;
+	}
+
+	// This method writes one word of a run: its length, then its characters
+	private static void writeWord(final DataOutputStream out, final String word) throws IOException {
+		out.writeInt(word.length()) ;
+		out.writeChars(word) ;
+	}
+}
@@ -0,0 +1,32 @@
+package dynamic_programming;
+
+/* This class puts a Bloom filter in front of a word index
+ * Most ranges probed by a check are not words, and the filter rejects them without touching the larger exact index
+ * A range that passes the filter is confirmed by the exact index, so the answers stay exact
+ * Without an exact index (approximate mode), the filter answers alone and may accept a range that is not a word */
+class FilteredWordIndex implements WordIndex {
+
+	private final BloomFilter filter ;
+	private final WordIndex exact ;						// Confirms the ranges passing the filter, or null in approximate mode
+	private final int maxLength ;						// Length of the longest word
+
+	// Default access constructor for package only access
+	FilteredWordIndex(BloomFilter filter, WordIndex exact, int maxLength) {
+		this.filter = filter ;
+		this.exact = exact ;
+		this.maxLength = maxLength ;
+	}
+
+	@Override
+	public boolean contains(final char[] chars, final int offset, final int length, final int hash) {
+		if(! filter.mightContain(length, hash)) {
+			return false ;								// Surely absent
+		}
+		return exact == null || exact.contains(chars, offset, length, hash) ;
+	}
+
+	@Override
+	public int maxLength() {
+		return maxLength ;
+	}
+}
@@ -0,0 +1,309 @@
+package dynamic_programming;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import common.Metrics;
+
+/* This class finds whether a word is a concatenation of other words with a single 1-D reachability array
+ * reachable[i] is true if the first i characters of the word can be split into dictionary words
+ * The dictionary is probed with ranges of the word's characters, so no substring is created
+ * segment() records a back-pointer for every reachable position, so the parts come out of the same pass
+ * With a SegmentationCache, the word is checked as a depth-first search over the suffixes instead (isConcatenatedCached)
+ * The scratch buffers are reused between words, thus one instance must only be used by one thread
+ * The cache itself may be shared by the instances of all the threads
+ * With Metrics.ENABLED, the probes and cells of a check are counted in locals and added to the Metrics once per word */
+class LinearWordBreak {
+
+	private static final int MIN_CACHED_LENGTH = 4 ;	// Shorter suffixes are cheaper to split again than to cache
+	private static final byte UNKNOWN = 0 ;				// States of a suffix during one cached check
+	private static final byte SEGMENTABLE = 1 ;
+	private static final byte NOT_SEGMENTABLE = 2 ;
+
+	private final WordIndex words ;					// The dictionary, only read by this class
+	private final SegmentationCache cache ;				// Answers for suffixes of earlier words, or null
+	private Metrics metrics ;							// Receives the counters of the checks, or null
+	private char[] chars = new char[64] ;				// Scratch buffer holding the characters of the current word
+	private boolean[] reachable = new boolean[65] ;		// Scratch reachability array of the current word
+	private int[] previous = new int[65] ;				// Scratch start of the part ending at every reachable position
+	private int[] partCounts = new int[65] ;			// Scratch fewest parts reaching every position (MIN_PARTS)
+	private long[] splitCounts = new long[65] ;			// Scratch number of splits reaching every position (COUNT_ALL)
+	private byte[] state = new byte[65] ;				// Scratch state of every suffix of the current word (cached check)
+	private int[] suffixHashes = new int[65] ;			// Scratch String.hashCode() of every suffix of the current word
+	private int[] stack = new int[65] ;					// Scratch search stack: start of the suffix being split
+	private int[] nextEnds = new int[65] ;				// Scratch search stack: last end probed for that suffix
+	private int[] prefixHashes = new int[65] ;			// Scratch search stack: rolling hash of chars[start, nextEnd)
+
+	// Default access constructor for package only access
+	LinearWordBreak(WordIndex words) {
+		this(words, null) ;
+	}
+
+	// Default access constructor for package only access. The cache may be null
+	LinearWordBreak(WordIndex words, SegmentationCache cache) {
+		this.words = words ;
+		this.cache = cache ;
+	}
+
+	// This method makes the checks add their counters to the given Metrics. They are only counted with Metrics.ENABLED
+	void setMetrics(final Metrics metrics) {
+		this.metrics = metrics ;
+	}
+
+	/* This method finds whether the given word could be created by concatenating other words in the dictionary
+	 * A word is never a part of itself, so the range [0, n) is not probed */
+	boolean isConcatenated(final String word) {
+		int n = word.length() ;
+		if(n < 2) {
+			return false ;								// A single character can not be split into two words
+		}
+		copy(word) ;
+		if(cache != null) {
+			return isConcatenatedCached(n) ;
+		}
+		return reachesEnd(n) ;
+	}
+
+	/* This method checks the word of the given id, as isConcatenated(String)
+	 * The word is copied from the source into the scratch buffer, so no String is created */
+	boolean isConcatenated(final WordSource source, final int id) {
+		int n = source.length(id) ;
+		if(n < 2) {
+			return false ;
+		}
+		ensureCapacity(n) ;
+		source.getChars(id, chars) ;
+		if(cache != null) {
+			return isConcatenatedCached(n) ;
+		}
+		return reachesEnd(n) ;
+	}
+
+	/* This method splits the word with the given strategy. The cache is not used
+	 * Every reachable position remembers the start of the part ending there, and the parts are read back from the end */
+	Segmentation segment(final String word, final SegmentationStrategy strategy) {
+		int n = word.length() ;
+		if(n < 2) {
+			return new Segmentation(word, null, (strategy == SegmentationStrategy.COUNT_ALL) ? 0 : -1) ;
+		}
+		copy(word) ;
+		switch(strategy) {
+			case MIN_PARTS :
+				return new Segmentation(word, fewestParts(n) ? parts(word) : null, -1) ;
+			case COUNT_ALL :
+				long count = countSplits(n) ;
+				return new Segmentation(word, (count > 0) ? parts(word) : null, count) ;
+			default :
+				return new Segmentation(word, reachesEnd(n) ? parts(word) : null, -1) ;
+		}
+	}
+
+	// This method reads the parts back from the end of the word through the back-pointers
+	private List<String> parts(final String word) {
+		ArrayList<String> parts = new ArrayList<>() ;
+		for(int end = word.length() ; end > 0 ; end = previous[end]) {
+			parts.add(word.substring(previous[end], end)) ;
+		}
+		Collections.reverse(parts) ;
+		return parts ;
+	}
+
+	/* This method fills the fewest parts reaching every position of chars[0, n) and returns whether the end is reachable
+	 * The starts are visited in increasing order, so the count of a start is final when its parts are extended */
+	private boolean fewestParts(final int n) {
+		Arrays.fill(partCounts, 0, n + 1, Integer.MAX_VALUE) ;
+		partCounts[0] = 0 ;
+		int maxLength = words.maxLength() ;
+		for(int start = 0 ; start < n ; start++) {
+			if(partCounts[start] == Integer.MAX_VALUE) {
+				continue ;
+			}
+			int limit = Math.min(start == 0 ? n - 1 : n, start + maxLength) ;
+			int hash = 0 ;
+			for(int end = start + 1 ; end <= limit ; end++) {
+				hash = 31 * hash + chars[end - 1] ;
+				if(partCounts[start] + 1 < partCounts[end] && words.contains(chars, start, end - start, hash)) {
+					partCounts[end] = partCounts[start] + 1 ;
+					previous[end] = start ;
+				}
+			}
+		}
+		return partCounts[n] != Integer.MAX_VALUE ;
+	}
+
+	/* This method counts the splits reaching every position of chars[0, n) and returns the count of the end
+	 * The back-pointers keep the first start reaching a position, which gives the same parts as FIRST */
+	private long countSplits(final int n) {
+		Arrays.fill(splitCounts, 0, n + 1, 0) ;
+		splitCounts[0] = 1 ;
+		int maxLength = words.maxLength() ;
+		for(int start = 0 ; start < n ; start++) {
+			if(splitCounts[start] == 0) {
+				continue ;
+			}
+			int limit = Math.min(start == 0 ? n - 1 : n, start + maxLength) ;
+			int hash = 0 ;
+			for(int end = start + 1 ; end <= limit ; end++) {
+				hash = 31 * hash + chars[end - 1] ;
+				if(words.contains(chars, start, end - start, hash)) {
+					if(splitCounts[end] == 0) {
+						previous[end] = start ;
+					}
+					long sum = splitCounts[end] + splitCounts[start] ;
+					splitCounts[end] = (sum < 0) ? Long.MAX_VALUE : sum ;	// Saturates instead of overflowing
+				}
+			}
+		}
+		return splitCounts[n] ;
+	}
+
+	// This method copies the word into the scratch buffer, growing the scratch arrays if needed
+	private void copy(final String word) {
+		int n = word.length() ;
+		ensureCapacity(n) ;
+		word.getChars(0, n, chars, 0) ;
+	}
+
+	// This method grows the scratch arrays if a word of n characters does not fit
+	private void ensureCapacity(final int n) {
+		if(chars.length < n) {
+			chars = new char[n * 2] ;
+			reachable = new boolean[n * 2 + 1] ;
+			previous = new int[n * 2 + 1] ;
+			partCounts = new int[n * 2 + 1] ;
+			splitCounts = new long[n * 2 + 1] ;
+		}
+	}
+
+	// This method fills the reachability array of chars[0, n) and returns whether the end is reachable
+	private boolean reachesEnd(final int n) {
+		Arrays.fill(reachable, 0, n + 1, false) ;
+		reachable[0] = true ;
+
+		int maxLength = words.maxLength() ;
+		long cells = 0 ;								// Counters of this word, only used with Metrics.ENABLED
+		long probes = 0 ;
+		long hits = 0 ;
+		boolean found = false ;
+		for(int start = 0 ; start < n && ! found ; start++) {
+			if(! reachable[start]) {
+				continue ;
+			}
+			// The first part must be shorter than the word, the later parts can run till the end
+			int limit = Math.min(start == 0 ? n - 1 : n, start + maxLength) ;
+			int hash = 0 ;								// Rolling String.hashCode() of chars[start, end)
+			for(int end = start + 1 ; end <= limit ; end++) {
+				hash = 31 * hash + chars[end - 1] ;
+				if(Metrics.ENABLED) {
+					cells++ ;
+					probes += reachable[end] ? 0 : 1 ;
+				}
+				if(! reachable[end] && words.contains(chars, start, end - start, hash)) {
+					reachable[end] = true ;
+					previous[end] = start ;
+					if(Metrics.ENABLED) {
+						hits++ ;
+					}
+				}
+			}
+			found = reachable[n] ;						// No need to look at the remaining start positions
+		}
+		if(Metrics.ENABLED && metrics != null) {
+			metrics.addCells(cells) ;
+			metrics.addProbes(probes, hits) ;
+		}
+		return found ;
+	}
+
+	/* This method checks chars[0, n) with a depth-first search over its suffixes
+	 * A suffix is split by trying every dictionary word it starts with, the rest is then searched as a new suffix
+	 * The answer for every searched suffix is kept in state for the rest of the word and stored in the cache for
+	 * the next words. A suffix found in the cache is not searched again
+	 * The search uses an explicit stack, so long words can not overflow the thread stack */
+	private boolean isConcatenatedCached(final int n) {
+		if(state.length < n + 1) {
+			state = new byte[n * 2 + 1] ;
+			suffixHashes = new int[n * 2 + 1] ;
+			stack = new int[n * 2 + 1] ;
+			nextEnds = new int[n * 2 + 1] ;
+			prefixHashes = new int[n * 2 + 1] ;
+		}
+		// String.hashCode() of chars[start, n) from the end: hash(start) = chars[start] * 31^(n-start-1) + hash(start + 1)
+		int power = 1 ;
+		suffixHashes[n] = 0 ;
+		for(int start = n - 1 ; start >= 0 ; start--) {
+			suffixHashes[start] = chars[start] * power + suffixHashes[start + 1] ;
+			power *= 31 ;
+		}
+		Arrays.fill(state, 0, n + 1, UNKNOWN) ;
+		state[n] = SEGMENTABLE ;						// The empty rest of a word needs no more parts
+
+		int maxLength = words.maxLength() ;
+		long probes = 0 ;								// Counters of this word, only used with Metrics.ENABLED
+		long hits = 0 ;
+		int top = 0 ;
+		stack[0] = 0 ;									// The word itself, which must not be its own part
+		nextEnds[0] = 0 ;
+		prefixHashes[0] = 0 ;
+		while(top >= 0) {
+			int start = stack[top] ;
+			int end = nextEnds[top] ;
+			int hash = prefixHashes[top] ;
+			// The first part must be shorter than the word, the later parts can run till the end
+			int limit = Math.min(start == 0 ? n - 1 : n, start + maxLength) ;
+			byte result = UNKNOWN ;
+			boolean pushed = false ;
+			if(end > start && state[end] == SEGMENTABLE) {
+				result = SEGMENTABLE ;					// The suffix searched last, after the word chars[start, end), splits
+			}
+			while(result == UNKNOWN && end < limit) {
+				end++ ;
+				hash = 31 * hash + chars[end - 1] ;
+				if(Metrics.ENABLED) {
+					probes++ ;
+				}
+				if(! words.contains(chars, start, end - start, hash)) {
+					continue ;
+				}
+				if(Metrics.ENABLED) {
+					hits++ ;
+				}
+				if(state[end] == UNKNOWN && n - end >= MIN_CACHED_LENGTH) {
+					int cached = cache.lookup(chars, end, n - end, suffixHashes[end]) ;
+					if(cached != SegmentationCache.ABSENT) {
+						state[end] = (cached == SegmentationCache.SEGMENTABLE) ? SEGMENTABLE : NOT_SEGMENTABLE ;
+					}
+				}
+				if(state[end] == SEGMENTABLE) {
+					result = SEGMENTABLE ;
+				}
+				else if(state[end] == UNKNOWN) {
+					// The rest chars[end, n) is searched first, then this suffix continues after end
+					nextEnds[top] = end ;
+					prefixHashes[top] = hash ;
+					top++ ;
+					stack[top] = end ;
+					nextEnds[top] = end ;
+					prefixHashes[top] = 0 ;
+					pushed = true ;
+					break ;
+				}
+			}
+			if(pushed) {
+				continue ;
+			}
+			state[start] = (result == SEGMENTABLE) ? SEGMENTABLE : NOT_SEGMENTABLE ;
+			if(start > 0 && n - start >= MIN_CACHED_LENGTH) {
+				cache.store(chars, start, n - start, suffixHashes[start], result == SEGMENTABLE) ;
+			}
+			top-- ;
+		}
+		if(Metrics.ENABLED && metrics != null) {
+			metrics.addCells(probes) ;					// Every probe of the search is one cell
+			metrics.addProbes(probes, hits) ;
+		}
+		return state[0] == SEGMENTABLE ;
+	}
+}
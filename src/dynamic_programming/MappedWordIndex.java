@@ -0,0 +1,178 @@
+package dynamic_programming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/* This class is a word index kept in two memory-mapped temporary files instead of the heap
+ * The data file holds the words one after the other as records: String.hashCode(), length, then the UTF-16 characters
+ * The table file is an open-addressing table (linear probing) of longs: the offset of a record + 1, 0 for an empty slot
+ * The table is sized once for the given capacity, so it is never rehashed. The data file grows a segment at a time
+ * Both files are mapped in segments of SEGMENT_SIZE bytes and a record never crosses a segment
+ * The OS pages the files in and out, thus the heap use does not depend on the number of words
+ * Words are added by one thread. Lookups may run on many threads once the words are added */
+class MappedWordIndex implements WordIndex, Closeable {
+
+	private static final int SEGMENT_SHIFT = 28 ;
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT ;	// 256 MB of a file are mapped at a time
+	private static final long SEGMENT_MASK = SEGMENT_SIZE - 1 ;
+	private static final int RECORD_HEADER = 8 ;					// The hash and the length of a record
+
+	private final Path tableFile ;
+	private final Path dataFile ;
+	private final FileChannel tableChannel ;
+	private final FileChannel dataChannel ;
+	private final MappedByteBuffer[] table ;			// The segments of the table file
+	private final ArrayList<MappedByteBuffer> data = new ArrayList<>() ;	// The segments of the data file mapped so far
+	private final long capacity ;						// Largest number of words
+	private final long mask ;							// Number of slots - 1, the number of slots is a power of two
+	private long end = 0 ;								// Offset after the last record
+	private long size = 0 ;								// Number of words
+	private int maxLength = 0 ;							// Length of the longest word
+
+	// Default access constructor. The files are created in the given directory and deleted by close()
+	MappedWordIndex(Path directory, long capacity) throws IOException {
+		this.capacity = capacity ;
+		long slots = 2 ;
+		while(slots < capacity * 2) {					// Load factor at most 0.5
+			slots <<= 1 ;
+		}
+		mask = slots - 1 ;
+		tableFile = Files.createTempFile(directory, "index", ".table") ;
+		dataFile = Files.createTempFile(directory, "index", ".data") ;
+		tableChannel = FileChannel.open(tableFile, StandardOpenOption.READ, StandardOpenOption.WRITE) ;
+		dataChannel = FileChannel.open(dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE) ;
+		long tableBytes = slots * 8 ;
+		table = new MappedByteBuffer[(int) ((tableBytes + SEGMENT_MASK) >>> SEGMENT_SHIFT)] ;
+		for(int i=0 ; i<table.length ; i++) {
+			long from = (long) i << SEGMENT_SHIFT ;
+			table[i] = tableChannel.map(FileChannel.MapMode.READ_WRITE, from, Math.min(SEGMENT_SIZE, tableBytes - from)) ;	// Zero filled
+		}
+	}
+
+	// This method adds the word and returns false if it was already present
+	boolean add(final String word) throws IOException {
+		int hash = word.hashCode() ;
+		int length = word.length() ;
+		long record = RECORD_HEADER + 2L * length ;
+		if(record > SEGMENT_SIZE) {
+			throw new IllegalArgumentException("Word too long for the index: " + length + " characters") ;
+		}
+		char[] chars = word.toCharArray() ;
+		if(contains(chars, 0, length, hash)) {
+			return false ;
+		}
+		if(size == capacity) {
+			throw new IllegalStateException("The index is full: " + capacity + " words") ;
+		}
+		if((end & SEGMENT_MASK) + record > SEGMENT_SIZE) {
+			end = (end | SEGMENT_MASK) + 1 ;			// The record starts the next segment
+		}
+		int segment = (int) (end >>> SEGMENT_SHIFT) ;
+		while(data.size() <= segment) {
+			data.add(dataChannel.map(FileChannel.MapMode.READ_WRITE, (long) data.size() << SEGMENT_SHIFT, SEGMENT_SIZE)) ;
+		}
+		MappedByteBuffer buffer = data.get(segment) ;
+		int position = (int) (end & SEGMENT_MASK) ;
+		buffer.putInt(position, hash) ;
+		buffer.putInt(position + 4, length) ;
+		for(int i=0 ; i<length ; i++) {
+			buffer.putChar(position + RECORD_HEADER + 2 * i, chars[i]) ;
+		}
+
+		long slot = slotOf(hash) ;
+		while(slot(slot) != 0) {
+			slot = (slot + 1) & mask ;
+		}
+		setSlot(slot, end + 1) ;
+		end += record ;
+		size++ ;
+		maxLength = Math.max(maxLength, length) ;
+		return true ;
+	}
+
+	/* This method checks whether chars[offset, offset + length) is a word of the index
+	 * The hash must be equal to the String.hashCode() of that range */
+	@Override
+	public boolean contains(final char[] chars, final int offset, final int length, final int hash) {
+		for(long slot = slotOf(hash) ; ; slot = (slot + 1) & mask) {
+			long value = slot(slot) ;
+			if(value == 0) {
+				return false ;
+			}
+			long record = value - 1 ;
+			MappedByteBuffer buffer = data.get((int) (record >>> SEGMENT_SHIFT)) ;
+			int position = (int) (record & SEGMENT_MASK) ;
+			if(buffer.getInt(position) == hash && buffer.getInt(position + 4) == length && regionEquals(buffer, position + RECORD_HEADER, chars, offset, length)) {
+				return true ;
+			}
+		}
+	}
+
+	// Getter for the length of the longest word. No range longer than this can be a word
+	@Override
+	public int maxLength() {
+		return maxLength ;
+	}
+
+	// Getter for the number of words
+	long size() {
+		return size ;
+	}
+
+	// Returns the bytes used in the two files
+	long getBytes() {
+		return 8 * (mask + 1) + end ;
+	}
+
+	// This method closes and deletes the files. The index must not be used afterwards
+	@Override
+	public void close() throws IOException {
+		tableChannel.close() ;
+		dataChannel.close() ;
+		delete(tableFile) ;
+		delete(dataFile) ;
+	}
+
+	// This method deletes a file, or on exit if it is still mapped (a mapping is only released by the garbage collector)
+	private static void delete(final Path file) {
+		try {
+			Files.deleteIfExists(file) ;
+		}
+		catch(IOException e) {
+			file.toFile().deleteOnExit() ;
+		}
+	}
+
+	// This method returns the first slot probed for the hash
+	private long slotOf(final int hash) {
+		return (CharRangeHashSet.mix(hash) & 0xFFFFFFFFL) & mask ;
+	}
+
+	// This method reads a slot of the table
+	private long slot(final long slot) {
+		long position = slot << 3 ;
+		return table[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK)) ;
+	}
+
+	// This method writes a slot of the table
+	private void setSlot(final long slot, final long value) {
+		long position = slot << 3 ;
+		table[(int) (position >>> SEGMENT_SHIFT)].putLong((int) (position & SEGMENT_MASK), value) ;
+	}
+
+	// This method compares the characters of a record with the chars starting at the offset
+	private static boolean regionEquals(final MappedByteBuffer buffer, final int position, final char[] chars, final int offset, final int length) {
+		for(int i=0 ; i<length ; i++) {
+			if(buffer.getChar(position + 2 * i) != chars[offset + i]) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+}
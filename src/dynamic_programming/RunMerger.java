@@ -0,0 +1,113 @@
+package dynamic_programming;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/* This class merges sorted runs written by ExternalSorter into one sorted stream of words
+ * The runs are ordered by their current word in a priority queue, so the next word is found in O(log runs)
+ * A word present in several runs is returned once
+ * Only the current word and a read buffer of every run are in memory */
+class RunMerger implements Closeable {
+
+	private final PriorityQueue<RunReader> queue ;
+	private String previous = null ;					// The word returned last
+
+	// Default access constructor for package only access
+	RunMerger(List<Path> runs) throws IOException {
+		queue = new PriorityQueue<>(Math.max(1, runs.size()), (run1, run2) -> ExternalSorter.ORDER.compare(run1.current, run2.current)) ;
+		try {
+			for(Path run : runs) {
+				requeue(new RunReader(run)) ;
+			}
+		}
+		catch(IOException e) {
+			close() ;
+			throw e ;
+		}
+	}
+
+	// This method returns the next word in sorted order, or null once every run is read
+	String next() throws IOException {
+		while(! queue.isEmpty()) {
+			RunReader reader = queue.poll() ;
+			String word = reader.current ;
+			requeue(reader) ;
+			if(! word.equals(previous)) {
+				previous = word ;
+				return word ;
+			}
+		}
+		return null ;
+	}
+
+	/* This method reads the next word of a run that is not in the queue, and puts the run back in the queue
+	 * A run that is read to the end, or fails to read, is closed here, as close() only reaches the runs of the queue */
+	private void requeue(final RunReader reader) throws IOException {
+		boolean hasWord ;
+		try {
+			hasWord = reader.advance() ;
+		}
+		catch(IOException e) {
+			try {
+				reader.close() ;
+			}
+			catch(IOException suppressed) {
+				e.addSuppressed(suppressed) ;
+			}
+			throw e ;
+		}
+		if(hasWord) {
+			queue.add(reader) ;
+		}
+		else {
+			reader.close() ;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		while(! queue.isEmpty()) {
+			queue.poll().close() ;
+		}
+	}
+
+	/* This class reads the words of one run */
+	private static class RunReader implements Closeable {
+		private final DataInputStream in ;
+		private String current ;						// The word read last
+
+		RunReader(Path run) throws IOException {
+			in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16)) ;
+		}
+
+		// This method reads the next word into current and returns false at the end of the run
+		boolean advance() throws IOException {
+			int length ;
+			try {
+				length = in.readInt() ;
+			}
+			catch(EOFException e) {
+				current = null ;
+				return false ;
+			}
+			char[] chars = new char[length] ;
+			for(int i=0 ; i<length ; i++) {
+				chars[i] = in.readChar() ;
+			}
+			current = new String(chars) ;
+			return true ;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close() ;
+		}
+	}
+}
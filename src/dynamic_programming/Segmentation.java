@@ -0,0 +1,46 @@
+package dynamic_programming;
+
+import java.util.Collections;
+import java.util.List;
+
+/* This is a bean class for the answer to one token: the token and the dictionary words it splits into
+ * The parts are empty if the token is not a concatenation of dictionary words
+ * The count of distinct splits is only known with the COUNT_ALL strategy, otherwise it is -1 */
+public class Segmentation {
+
+	private final String token ;
+	private final List<String> parts ;
+	private final long count ;							// Number of distinct splits into at least two words, or -1
+
+	public Segmentation(String token, List<String> parts, long count) {
+		this.token = token ;
+		this.parts = (parts == null) ? Collections.<String>emptyList() : Collections.unmodifiableList(parts) ;
+		this.count = count ;
+	}
+
+	// Getter for the token
+	public String getToken() {
+		return token ;
+	}
+
+	// Getter for the parts, from the first to the last
+	public List<String> getParts() {
+		return parts ;
+	}
+
+	// Getter for the number of distinct splits. It is -1 unless the COUNT_ALL strategy was used
+	public long getCount() {
+		return count ;
+	}
+
+	// Returns whether the token splits into at least two dictionary words
+	public boolean isConcatenated() {
+		return ! parts.isEmpty() ;
+	}
+
+	@Override
+	public String toString() {
+		String text = token + (isConcatenated() ? " = " + String.join(" + ", parts) : " (not concatenated)") ;
+		return (count >= 0) ? text + " [" + count + " splits]" : text ;
+	}
+}
@@ -0,0 +1,82 @@
+package dynamic_programming;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/* This class remembers whether a suffix can be split into dictionary words, across all the checked words
+ * For example, once "dogcats" is known to split into dog + cats, catsdogcats and ratdogcats reuse the answer
+ * The cache is bounded: it is a direct-mapped table, and a new suffix replaces the suffix in its slot (eviction)
+ * The entries are immutable and the slots are atomic references, thus any number of threads can read and write it
+ * A suffix is probed with a range of a char array and its String.hashCode(), so a lookup creates no substring */
+class SegmentationCache {
+
+	static final int ABSENT = 0 ;						// The suffix is not in the cache
+	static final int SEGMENTABLE = 1 ;					// The suffix splits into dictionary words
+	static final int NOT_SEGMENTABLE = 2 ;				// The suffix does not split into dictionary words
+
+	private final AtomicReferenceArray<Entry> slots ;	// The entries, null marks an empty slot
+	private final LongAdder hits = new LongAdder() ;
+	private final LongAdder misses = new LongAdder() ;
+
+	// Default access constructor for package only access
+	SegmentationCache(int capacity) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive: " + capacity) ;
+		}
+		int size = 1 ;
+		while(size < capacity) {
+			size <<= 1 ;
+		}
+		slots = new AtomicReferenceArray<>(size) ;
+	}
+
+	/* This method returns whether chars[offset, offset + length) splits into words, or ABSENT if it is not cached
+	 * The hash must be equal to the String.hashCode() of that range */
+	int lookup(final char[] chars, final int offset, final int length, final int hash) {
+		Entry entry = slots.get(CharRangeHashSet.mix(hash) & (slots.length() - 1)) ;
+		if(entry != null && entry.hash == hash && entry.suffix.length() == length && regionEquals(entry.suffix, chars, offset)) {
+			hits.increment() ;
+			return entry.segmentable ? SEGMENTABLE : NOT_SEGMENTABLE ;
+		}
+		misses.increment() ;
+		return ABSENT ;
+	}
+
+	// This method stores the answer for chars[offset, offset + length), evicting the suffix stored in the same slot
+	void store(final char[] chars, final int offset, final int length, final int hash, final boolean segmentable) {
+		slots.lazySet(CharRangeHashSet.mix(hash) & (slots.length() - 1), new Entry(new String(chars, offset, length), hash, segmentable)) ;
+	}
+
+	// Getter for the number of lookups that found the suffix
+	long getHits() {
+		return hits.sum() ;
+	}
+
+	// Getter for the number of lookups that did not find the suffix
+	long getMisses() {
+		return misses.sum() ;
+	}
+
+	// This method compares the suffix with the chars starting at the offset. The lengths are already equal
+	private static boolean regionEquals(final String suffix, final char[] chars, final int offset) {
+		for(int i=0 ; i<suffix.length() ; i++) {
+			if(suffix.charAt(i) != chars[offset + i]) {
+				return false ;
+			}
+		}
+		return true ;
+	}
+
+	/* This is an immutable bean class for one cached suffix. The final fields make it safe to share between threads */
+	private static class Entry {
+		final String suffix ;
+		final int hash ;								// String.hashCode() of the suffix
+		final boolean segmentable ;
+
+		Entry(String suffix, int hash, boolean segmentable) {
+			this.suffix = suffix ;
+			this.hash = hash ;
+			this.segmentable = segmentable ;
+		}
+	}
+}
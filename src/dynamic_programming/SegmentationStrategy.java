@@ -0,0 +1,8 @@
+package dynamic_programming;
+
+/* This enum lists the splits a segmentation can return. All of them run in one pass over the word */
+public enum SegmentationStrategy {
+	FIRST,			// The first split found. The pass stops as soon as the end of the word is reached
+	MIN_PARTS,		// A split with the fewest parts
+	COUNT_ALL		// The first split and the number of distinct splits (saturated at Long.MAX_VALUE)
+}
@@ -0,0 +1,68 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import common.MappedWordLoader;
+import suffixtree.MappedTrie;
+
+/* This class is the library entry point of the LINEAR check: it holds a dictionary loaded once
+ * and answers whether a token is a concatenation of dictionary words, and which words
+ * A token is concatenated if it splits into at least two dictionary words. It may or may not be a word itself
+ * Any number of threads can share one Segmenter. Every thread gets its own LinearWordBreak scratch buffers */
+public class Segmenter {
+
+	private final WordIndex dictionary ;				// Only read after the constructor
+	private final int wordCount ;
+	private final ThreadLocal<LinearWordBreak> checkers ;
+
+	// Creates a segmenter over the given words
+	public Segmenter(final Collection<String> words) {
+		CharRangeHashSet index = new CharRangeHashSet(words.size()) ;
+		for(String word : words) {
+			index.add(word) ;
+		}
+		this.dictionary = index ;
+		this.wordCount = index.size() ;
+		checkers = ThreadLocal.withInitial(() -> new LinearWordBreak(dictionary)) ;
+	}
+
+	// Private constructor for an index that is already built
+	private Segmenter(final WordIndex dictionary, final int wordCount) {
+		this.dictionary = dictionary ;
+		this.wordCount = wordCount ;
+		checkers = ThreadLocal.withInitial(() -> new LinearWordBreak(dictionary)) ;
+	}
+
+	/* This method loads the dictionary of the file: a word list, or a compiled dictionary (suffixtree.DictionaryCompiler)
+	 * A compiled dictionary is mapped and probed in place */
+	public static Segmenter load(final String path) throws IOException {
+		if(MappedTrie.isCompiled(path)) {
+			MappedTrie trie = MappedTrie.open(path) ;
+			return new Segmenter(new TrieWordIndex(trie, trie.getMaxLength()), trie.getWordCount()) ;
+		}
+		CharRangeHashSet index = new CharRangeHashSet(1024) ;
+		MappedWordLoader.load(path, (chars, offset, length) -> index.add(new String(chars, offset, length))) ;
+		return new Segmenter(index, index.size()) ;
+	}
+
+	// Returns whether the token splits into at least two dictionary words
+	public boolean isConcatenated(final String token) {
+		return checkers.get().isConcatenated(token) ;
+	}
+
+	// Returns the first split of the token into dictionary words
+	public Segmentation segment(final String token) {
+		return segment(token, SegmentationStrategy.FIRST) ;
+	}
+
+	// Returns the split of the token into dictionary words chosen by the strategy
+	public Segmentation segment(final String token, final SegmentationStrategy strategy) {
+		return checkers.get().segment(token, strategy) ;
+	}
+
+	// Getter for the number of dictionary words
+	public int getWordCount() {
+		return wordCount ;
+	}
+}
@@ -0,0 +1,27 @@
+package dynamic_programming;
+
+import suffixtree.Trie;
+
+/* This class lets the LINEAR check probe a Trie, for example the MappedTrie of a compiled dictionary
+ * The Trie walks the range character by character, thus the hash of the range is not needed */
+class TrieWordIndex implements WordIndex {
+
+	private final Trie trie ;
+	private final int maxLength ;						// Length of the longest word of the Trie
+
+	// Default access constructor for package only access
+	TrieWordIndex(Trie trie, int maxLength) {
+		this.trie = trie ;
+		this.maxLength = maxLength ;
+	}
+
+	@Override
+	public boolean contains(final char[] chars, final int offset, final int length, final int hash) {
+		return trie.containsWord(chars, offset, offset + length) ;
+	}
+
+	@Override
+	public int maxLength() {
+		return maxLength ;
+	}
+}
@@ -0,0 +1,142 @@
+package dynamic_programming;
+
+import java.util.Arrays;
+
+/* This class is a reverse index from every substring of one to three characters (gram) to the ids of the words containing it
+ * It finds the candidates containing a given word without scanning the whole dictionary:
+ * every word containing w contains all the grams of w, so the shortest posting list of w's grams holds them all
+ * A word of three characters or more is looked up by its trigrams, a shorter word by the gram equal to itself
+ * The grams are packed into a long (their length and up to three 16-bit characters), and the posting lists are found
+ * through an open-addressing table of those longs (linear probing), thus a lookup boxes nothing
+ * remove() deletes the id from the posting lists of the word, so the lists only hold current words and an id can be reused */
+class TrigramIndex {
+
+	private long[] keys = new long[1024] ;				// The packed gram of every slot
+	private Postings[] values = new Postings[1024] ;	// The posting list of the gram in the same slot, null marks an empty slot
+	private int size = 0 ;								// Number of grams in the table
+
+	// This method adds the grams of the word under the given id
+	void add(final String word, final int id) {
+		for(int length=1 ; length<=3 ; length++) {
+			for(int i=0 ; i + length <= word.length() ; i++) {
+				postings(key(word, i, length), true).add(id) ;
+			}
+		}
+	}
+
+	/* This method removes the id from the posting lists of the grams of the word
+	 * The word must be the one added under that id. An empty list stays in the table for the next word with its gram */
+	void remove(final String word, final int id) {
+		for(int length=1 ; length<=3 ; length++) {
+			for(int i=0 ; i + length <= word.length() ; i++) {
+				Postings list = postings(key(word, i, length), false) ;
+				if(list != null) {
+					list.remove(id) ;					// A repeated gram finds the id already removed
+				}
+			}
+		}
+	}
+
+	/* This method returns the ids of the shortest posting list among the grams used to look the word up
+	 * Every word containing the given word is in the list, but the list may hold other words as well
+	 * The returned array is a copy */
+	int[] candidates(final String word) {
+		int length = Math.min(3, word.length()) ;
+		Postings shortest = null ;
+		for(int i=0 ; i + length <= word.length() ; i++) {
+			Postings list = postings(key(word, i, length), false) ;
+			if(list == null || list.size == 0) {
+				return new int[0] ;						// No word contains this gram
+			}
+			if(shortest == null || list.size < shortest.size) {
+				shortest = list ;
+			}
+		}
+		return (shortest == null) ? new int[0] : Arrays.copyOf(shortest.ids, shortest.size) ;
+	}
+
+	// This method returns the posting list of the gram. If create is true, a missing list is added, otherwise null is returned
+	private Postings postings(final long key, final boolean create) {
+		int mask = keys.length - 1 ;
+		int slot = mix(key) & mask ;
+		while(values[slot] != null) {
+			if(keys[slot] == key) {
+				return values[slot] ;
+			}
+			slot = (slot + 1) & mask ;
+		}
+		if(! create) {
+			return null ;
+		}
+		if((size + 1) * 2 > keys.length) {
+			resize() ;
+			return postings(key, true) ;
+		}
+		keys[slot] = key ;
+		values[slot] = new Postings() ;
+		size++ ;
+		return values[slot] ;
+	}
+
+	// This method doubles the table and re-inserts the grams
+	private void resize() {
+		long[] oldKeys = keys ;
+		Postings[] oldValues = values ;
+		keys = new long[oldKeys.length * 2] ;
+		values = new Postings[oldKeys.length * 2] ;
+		int mask = keys.length - 1 ;
+		for(int i=0 ; i<oldKeys.length ; i++) {
+			if(oldValues[i] != null) {
+				int slot = mix(oldKeys[i]) & mask ;
+				while(values[slot] != null) {
+					slot = (slot + 1) & mask ;
+				}
+				keys[slot] = oldKeys[i] ;
+				values[slot] = oldValues[i] ;
+			}
+		}
+	}
+
+	// This method packs the length and the characters of word[index, index + length) into a key
+	private static long key(final String word, final int index, final int length) {
+		long key = length ;
+		for(int i=index ; i<index + length ; i++) {
+			key = (key << 16) | word.charAt(i) ;
+		}
+		return key ;
+	}
+
+	// Folds the key to an int and spreads it like CharRangeHashSet does for the words
+	private static int mix(final long key) {
+		return CharRangeHashSet.mix((int) (key ^ (key >>> 32))) ;
+	}
+
+	/* This is a growable list of word ids, in no particular order. An id is stored once, even if the gram repeats in the word */
+	private static class Postings {
+		int[] ids = new int[4] ;
+		int size = 0 ;
+
+		void add(int id) {
+			if(size > 0 && ids[size - 1] == id) {
+				return ;								// The grams of a word are added one after the other
+			}
+			if(size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2) ;
+			}
+			ids[size++] = id ;
+		}
+
+		// This method removes the id by moving the last id into its place
+		void remove(int id) {
+			for(int i=size - 1 ; i>=0 ; i--) {
+				if(ids[i] == id) {
+					ids[i] = ids[--size] ;
+					break ;
+				}
+			}
+			if(size < ids.length / 4 && ids.length > 4) {
+				ids = Arrays.copyOf(ids, Math.max(4, ids.length / 2)) ;	// Gives the memory of a shrinking list back
+			}
+		}
+	}
+}
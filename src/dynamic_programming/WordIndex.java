@@ -0,0 +1,13 @@
+package dynamic_programming;
+
+/* This interface is the dictionary as seen by the LINEAR check (LinearWordBreak)
+ * A word is probed with a range of a char array and the String.hashCode() of that range,
+ * so the caller can compute the hash incrementally while extending the range */
+interface WordIndex {
+
+	// Checks whether chars[offset, offset + length) is a word. The hash must be the String.hashCode() of that range
+	boolean contains(char[] chars, int offset, int length, int hash) ;
+
+	// Returns the length of the longest word. No range longer than this can be a word
+	int maxLength() ;
+}
@@ -0,0 +1,72 @@
+package dynamic_programming;
+
+import suffixtree.MappedTrie;
+
+/* This interface lists the words checked by the DP engine, by id from 0 to size() - 1
+ * The LINEAR check copies a word into its own buffer with getChars(), so a dictionary that does not store Strings
+ * (ByteArenaDictionary) is checked without creating a String per word
+ * word() creates the String of a word when one is required, for example for the output list */
+interface WordSource {
+
+	// Returns the number of words
+	int size() ;
+
+	// Returns the number of characters of the word
+	int length(int id) ;
+
+	// Copies the characters of the word into chars[0, length(id)). The array must be long enough
+	void getChars(int id, char[] chars) ;
+
+	// Returns the word as a String
+	String word(int id) ;
+
+	// Returns a source over the words of the array, in array order. No word is copied
+	static WordSource of(final String[] words) {
+		return new WordSource() {
+			@Override
+			public int size() {
+				return words.length ;
+			}
+
+			@Override
+			public int length(int id) {
+				return words[id].length() ;
+			}
+
+			@Override
+			public void getChars(int id, char[] chars) {
+				words[id].getChars(0, words[id].length(), chars, 0) ;
+			}
+
+			@Override
+			public String word(int id) {
+				return words[id] ;
+			}
+		} ;
+	}
+
+	// Returns a source over the word section of a compiled dictionary, by decreasing length. The words are read in place
+	static WordSource of(final MappedTrie trie) {
+		return new WordSource() {
+			@Override
+			public int size() {
+				return trie.getWordCount() ;
+			}
+
+			@Override
+			public int length(int id) {
+				return trie.getWordLength(id) ;
+			}
+
+			@Override
+			public void getChars(int id, char[] chars) {
+				trie.getWordChars(id, chars) ;
+			}
+
+			@Override
+			public String word(int id) {
+				return trie.getWord(id) ;
+			}
+		} ;
+	}
+}
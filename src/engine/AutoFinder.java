@@ -0,0 +1,178 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+
+import common.ConcatenatedWordsFinder;
+import common.FinderConfig;
+import common.FinderResult;
+import common.TopKCollector;
+
+/**
+ * BASIC INFORMATION
+ * This program finds the longest concatenated words and the total count of concatenated words with the engine
+ * that suits the input best, or with the engine given as argument
+ * Takes input from the file: 'E:/Java/TempWS/IBMTest/resources/words for problem.txt'
+ * The input file, the engine and the thread count can be passed as arguments: [path] [-engine=auto|dp|prefix_tree|aho_corasick|external] [-threads=N] [-topOnly]
+ * The number of longest words and their tie-break can be passed as well: [-top=K] [-tieBreak=arrival|lexicographic] (lexicographic by default, which does not depend on the input order)
+ * The heap the dictionary may take and the directory of the temporary files: [-heapBudget=megabytes] [-tmp=directory]
+ * 
+ * STEPS
+ * 1: Sample the input (InputStatistics): estimated word count, length distribution and alphabet size
+ * 2: Estimate the heap each in-memory engine needs for that many words of that length
+ * 3: Choose the engine (choose()), from the first rule that applies:
+ *    A compiled dictionary goes to the DP engine, which probes it in place (the Aho-Corasick and external engines list its words first)
+ *    With -topOnly, the DP engine, which checks the longest words first and stops early
+ *    or, if the DP engine does not fit the budget, the PrefixTree engine, the fastest of the others in that mode
+ *    A small alphabet (at most SMALL_ALPHABET characters) goes to the Aho-Corasick engine. Many short words then start
+ *    at every position, and one scan reports them all where the DP engine probes every range
+ *    Long words (99% length at least LONG_WORDS) go to the PrefixTree engine. The DP engine probes up to n * maxLength
+ *    ranges of a word, while a Trie walk stops at the first character that leaves the Trie. This holds with -threads=N
+ *    as well, since the parallel tasks expand every suffix of a word once (SuffixTask)
+ *    Otherwise the DP engine, which is the fastest on natural-language word lists
+ *    An engine whose estimate exceeds the heap budget is skipped. If no in-memory engine fits, the external engine
+ * 4: Run the engine through the common interface and print its result
+ * 
+ * See README.md for the timings behind the rules
+ */
+public class AutoFinder implements ConcatenatedWordsFinder {
+
+	static final int SMALL_ALPHABET = 8 ;				// Alphabets up to this size go to the Aho-Corasick engine
+	static final int LONG_WORDS = 64 ;					// 99% lengths from this one go to the PrefixTree engine
+
+	@Override
+	public FinderResult find(final FinderConfig config) throws IOException {
+		return choose(InputStatistics.sample(config.getPath()), config).engine.find(config) ;
+	}
+
+	// This method applies the rules of the class comment to the statistics of the input
+	public static Choice choose(final InputStatistics statistics, final FinderConfig config) {
+		long budget = config.getHeapBudget() ;
+		if(statistics.isCompiled()) {
+			return new Choice(Engine.DP, "compiled dictionary, probed in place") ;
+		}
+		if(config.isTopOnly() && estimateBytes(Engine.DP, statistics, config) <= budget) {
+			return new Choice(Engine.DP, "longest words only, checked from the longest down") ;
+		}
+		if(config.isTopOnly() && estimateBytes(Engine.PREFIX_TREE, statistics, config) <= budget) {
+			return new Choice(Engine.PREFIX_TREE, "longest words only, DP over the budget") ;
+		}
+		if(statistics.getAlphabetSize() <= SMALL_ALPHABET && estimateBytes(Engine.AHO_CORASICK, statistics, config) <= budget) {
+			return new Choice(Engine.AHO_CORASICK, "alphabet of " + statistics.getAlphabetSize() + " characters") ;
+		}
+		if(statistics.getLength99() >= LONG_WORDS && estimateBytes(Engine.PREFIX_TREE, statistics, config) <= budget) {
+			return new Choice(Engine.PREFIX_TREE, "99% of the words up to " + statistics.getLength99() + " characters") ;
+		}
+		long bytes = estimateBytes(Engine.DP, statistics, config) ;
+		if(bytes <= budget) {
+			return new Choice(Engine.DP, "default, estimated " + (bytes >> 20) + " MB") ;
+		}
+		return new Choice(Engine.EXTERNAL, "estimated " + (bytes >> 20) + " MB over the budget of " + (budget >> 20) + " MB") ;
+	}
+
+	/* This method estimates the heap an engine needs for the input, with room for the arrays that double while growing
+	 * A word of mean length m takes:
+	 * DP: the arena (m bytes, 2m outside Latin-1), an offset, a hash and two table slots. The threads check the arena
+	 *     in place, by word id
+	 * PREFIX_TREE: at most m Trie nodes of about 10 bytes, its characters and start in the WordTable (2m + 4 bytes)
+	 *     and about four suffix queue entries of 8 bytes. The words are numbered from the Trie, without a String
+	 *     With more than one thread, also one bit per character for the searched suffixes
+	 * AHO_CORASICK: at most m nodes of about 30 bytes (Trie arrays and automaton arrays) and its String
+	 * EXTERNAL: the words of one sorted run, which does not depend on the input */
+	static long estimateBytes(final Engine engine, final InputStatistics statistics, final FinderConfig config) {
+		double words = statistics.getEstimatedWords() ;
+		double mean = statistics.getMeanLength() ;
+		double string = 40 + 2 * mean ;
+		switch(engine) {
+			case DP :
+				double arena = (statistics.isLatin1() ? mean : 2 * mean) + 16 ;
+				return (long) (words * 2 * arena) ;
+			case PREFIX_TREE :
+				double visited = (config.getThreads() > 1) ? mean / 8 : 0 ;
+				return (long) (words * (2 * 10 * mean + 2 * mean + 4 + 32 + visited)) ;
+			case AHO_CORASICK :
+				return (long) (words * (2 * 30 * mean + string)) ;
+			default :
+				return 0 ;
+		}
+	}
+
+	/* This is a bean class for a chosen engine and the rule that chose it */
+	public static class Choice {
+		final Engine engine ;
+		final String reason ;
+
+		Choice(Engine engine, String reason) {
+			this.engine = engine ;
+			this.reason = reason ;
+		}
+
+		public Engine getEngine() {
+			return engine ;
+		}
+
+		public String getReason() {
+			return reason ;
+		}
+	}
+
+	public static void main(String[] args) {
+		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		String engineName = "auto" ;
+		FinderConfig options = new FinderConfig(path) ;		// Collects the options, the path is applied at the end
+		for(String arg : args) {
+			if(arg.startsWith("-engine=")) {
+				engineName = arg.substring("-engine=".length()) ;
+			}
+			else if(arg.startsWith("-threads=")) {
+				options.setThreads(Integer.parseInt(arg.substring("-threads=".length()))) ;
+			}
+			else if(arg.equals("-topOnly")) {
+				options.setTopOnly(true) ;
+			}
+			else if(arg.startsWith("-top=")) {
+				options.setOutputSize(Integer.parseInt(arg.substring("-top=".length()))) ;
+			}
+			else if(arg.startsWith("-tieBreak=")) {
+				options.setTieBreak(TopKCollector.TieBreak.valueOf(arg.substring("-tieBreak=".length()).toUpperCase())) ;
+			}
+			else if(arg.startsWith("-heapBudget=")) {
+				options.setHeapBudget(Long.parseLong(arg.substring("-heapBudget=".length())) << 20) ;
+			}
+			else if(arg.startsWith("-tmp=")) {
+				options.setTempDirectory(Paths.get(arg.substring("-tmp=".length()))) ;
+			}
+			else {
+				path = arg ;
+			}
+		}
+		FinderConfig config = options.withPath(path) ;
+		
+		try {
+			long millis1 = System.currentTimeMillis() ;
+			InputStatistics statistics = InputStatistics.sample(path) ;
+			Choice choice = "auto".equalsIgnoreCase(engineName) ? choose(statistics, config)
+					: new Choice(Engine.valueOf(engineName.toUpperCase()), "given as argument") ;
+			long millis2 = System.currentTimeMillis() ;
+			System.out.println("Input: " + statistics) ;
+			System.out.println("Engine = " + choice.engine + " (" + choice.reason + "), sampled in " + (millis2 - millis1) + " milliseconds") ;
+			
+			FinderResult result = choice.engine.find(config) ;
+			System.out.printf("Time taken = %d milliseconds\n", result.getMillis()) ;
+			System.out.println("Printing output list") ;
+			for(String word : result.getLongestWords()) {
+				System.out.println(word) ;
+			}
+			System.out.println("Count of concatenated words = " + ((result.getCount() < 0) ? "not computed (-topOnly)" : String.valueOf(result.getCount()))) ;
+		}
+		catch(NoSuchFileException e) {
+			System.err.println("File not found") ;
+			e.printStackTrace() ;
+		}
+		catch(IOException e) {
+			System.err.println("IO exception") ;
+			e.printStackTrace() ;
+		}
+	}
+}
@@ -0,0 +1,290 @@
+package engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import common.FinderConfig;
+import common.FinderResult;
+import common.TopKCollector;
+
+/**
+ * BASIC INFORMATION
+ * This program runs the finder over many word lists in one JVM, so the start-up and the JIT warm-up are paid once
+ * Takes input from the directory: 'E:/Java/TempWS/IBMTest/resources'
+ * The input is a directory (every regular file in it) or a manifest (one path per line, # starts a comment,
+ * relative paths are resolved against the manifest's directory)
+ * Arguments: <directory|manifest> [-out=file] [-workers=N] [-engine=auto|dp|prefix_tree|aho_corasick|external]
+ * The options of every file: [-threads=N] [-top=K] [-tieBreak=arrival|lexicographic] [-topOnly] [-heapBudget=megabytes] [-tmp=directory]
+ * 
+ * STEPS
+ * The files go through three stages connected by bounded queues (ArrayBlockingQueue)
+ * 1: Prepare (one thread): sample the file, choose its engine (AutoFinder) and read it once, so that its pages are in
+ *    the OS page cache when a worker maps it. Files larger than PREFETCH_LIMIT are not read ahead
+ * 2: Check (N worker threads): load, build and check the file with its engine through the common interface
+ * 3: Report (one thread): write one line per file to the output file, flushed after every line
+ * A full queue blocks the stage before it, so the preparing stage stays at most N files ahead of the workers
+ * and the memory holds at most N dictionaries at a time. The heap budget is shared by the N workers
+ * The stage of one file overlaps the other stages of the next files, so the disk reads run while the workers check
+ * 
+ * OUTPUT
+ * A tab separated file with a header line, one line per file in the order the files finish:
+ * index TAB path TAB status TAB engine TAB count TAB millis TAB longest words separated by spaces (or the error for status ERROR)
+ * The index is the position of the file in the input, so the lines can be sorted back into input order
+ * The count is -1 if it was not computed (-topOnly). A file that fails gets an ERROR line and the other files go on
+ */
+public class BatchRunner {
+
+	private static final long PREFETCH_LIMIT = 256L << 20 ;	// Larger files are left to the loader
+	private static final Job END_OF_JOBS = new Job(-1, null, null) ;	// Tells a worker to stop
+	private static final String END_OF_ROWS = new String("END") ;		// Tells the reporter to stop, compared by reference
+	private static final String HEADER = "index\tpath\tstatus\tengine\tcount\tmillis\tresult" ;
+
+	private final FinderConfig options ;				// The options of every file, the path is replaced
+	private final String engineName ;					// auto or the name of an Engine
+	private final int workers ;							// Number of files checked at the same time
+	private int errors = 0 ;							// Number of files that failed, only written by the reporter
+
+	// Default access constructor for package only access
+	BatchRunner(FinderConfig options, String engineName, int workers) {
+		if(workers <= 0) {
+			throw new IllegalArgumentException("The number of workers must be positive: " + workers) ;
+		}
+		this.options = options ;
+		this.engineName = engineName ;
+		this.workers = workers ;
+	}
+
+	// This method returns the files of a directory (sorted by name) or the files listed by a manifest
+	static List<String> listInputs(final Path input) throws IOException {
+		if(Files.isDirectory(input)) {
+			try(Stream<Path> files = Files.list(input)) {
+				return files.filter(Files::isRegularFile).sorted().map(Path::toString).collect(Collectors.toList()) ;
+			}
+		}
+		Path base = input.toAbsolutePath().getParent() ;
+		List<String> paths = new ArrayList<>() ;
+		for(String line : Files.readAllLines(input, StandardCharsets.UTF_8)) {
+			line = line.trim() ;
+			if(! line.isEmpty() && ! line.startsWith("#")) {
+				paths.add(base.resolve(line).toString()) ;
+			}
+		}
+		return paths ;
+	}
+
+	/* This method runs the files through the three stages and writes the output file
+	 * The stages run on one pool. If a stage fails, the pool is stopped and the failure is thrown */
+	void run(final List<String> paths, final Path output) throws IOException {
+		BlockingQueue<Job> jobs = new ArrayBlockingQueue<>(workers) ;
+		BlockingQueue<String> rows = new ArrayBlockingQueue<>(workers * 4) ;
+		ExecutorService pool = Executors.newFixedThreadPool(workers + 2) ;
+		ExecutorCompletionService<Void> stages = new ExecutorCompletionService<>(pool) ;
+		try {
+			stages.submit(() -> {
+				for(int i=0 ; i<paths.size() ; i++) {
+					jobs.put(prepare(i, paths.get(i))) ;
+				}
+				for(int i=0 ; i<workers ; i++) {
+					jobs.put(END_OF_JOBS) ;
+				}
+				return null ;
+			}) ;
+			for(int i=0 ; i<workers ; i++) {
+				stages.submit(() -> {
+					for(Job job = jobs.take() ; job != END_OF_JOBS ; job = jobs.take()) {
+						rows.put(check(job)) ;
+					}
+					return null ;
+				}) ;
+			}
+			stages.submit(() -> {
+				report(rows, output) ;
+				return null ;
+			}) ;
+
+			// The preparing stage and the workers end first. A failed stage is seen here, whatever its position
+			for(int i=0 ; i<workers + 1 ; i++) {
+				stages.take().get() ;
+			}
+			rows.put(END_OF_ROWS) ;
+			stages.take().get() ;
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt() ;
+			throw new InterruptedIOException("Interrupted while running the batch") ;
+		}
+		catch(ExecutionException e) {
+			if(e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause() ;
+			}
+			throw new IOException("A stage of the batch failed", e.getCause()) ;
+		}
+		finally {
+			pool.shutdownNow() ;						// Releases the stages still blocked on a queue after a failure
+		}
+	}
+
+	// Getter for the number of files that failed
+	int getErrors() {
+		return errors ;
+	}
+
+	/* Stage 1: This method chooses the engine of a file and reads the file ahead
+	 * A file that can not be read becomes a job with its error, reported by the workers */
+	private Job prepare(final int index, final String path) {
+		FinderConfig config = options.withPath(path) ;
+		config.setHeapBudget(options.getHeapBudget() / workers) ;	// The workers hold their dictionaries at the same time
+		Job job = new Job(index, path, config) ;
+		try {
+			InputStatistics statistics = InputStatistics.sample(path) ;
+			job.choice = "auto".equalsIgnoreCase(engineName) ? AutoFinder.choose(statistics, config)
+					: new AutoFinder.Choice(Engine.valueOf(engineName.toUpperCase()), "given as argument") ;
+			if(statistics.getFileBytes() <= PREFETCH_LIMIT) {
+				readAhead(path) ;
+			}
+		}
+		catch(IOException e) {
+			job.error = e.toString() ;
+		}
+		return job ;
+	}
+
+	// This method reads the whole file and drops the bytes. Its pages stay in the OS page cache for the worker
+	private static void readAhead(final String path) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20) ;
+			while(channel.read(buffer) > 0) {
+				buffer.clear() ;
+			}
+		}
+	}
+
+	/* Stage 2: This method runs the engine of the job and returns its output line
+	 * Any exception of the engine becomes an ERROR line, so one bad file does not stop the batch */
+	private static String check(final Job job) {
+		if(job.error != null) {
+			return row(job, "ERROR", "-", -1, 0, job.error) ;
+		}
+		try {
+			FinderResult result = job.choice.getEngine().find(job.config) ;
+			return row(job, "OK", result.getEngine(), result.getCount(), result.getMillis(), String.join(" ", result.getLongestWords())) ;
+		}
+		catch(IOException | RuntimeException e) {
+			return row(job, "ERROR", job.choice.getEngine().name(), -1, 0, e.toString()) ;
+		}
+	}
+
+	// This method formats an output line. Tabs and line breaks of the path or the message become spaces
+	private static String row(final Job job, final String status, final String engine, final long count, final long millis, final String result) {
+		return job.index + "\t" + clean(job.path) + "\t" + status + "\t" + engine + "\t" + count + "\t" + millis + "\t" + clean(result) ;
+	}
+
+	// This method replaces the tabs and line breaks of a field
+	private static String clean(final String field) {
+		return field.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ') ;
+	}
+
+	// Stage 3: This method writes the lines of the queue to the output file until the end marker
+	private void report(final BlockingQueue<String> rows, final Path output) throws IOException, InterruptedException {
+		try(BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+			out.write(HEADER) ;
+			out.newLine() ;
+			for(String row = rows.take() ; row != END_OF_ROWS ; row = rows.take()) {
+				if(row.split("\t", 4)[2].equals("ERROR")) {
+					errors++ ;
+				}
+				out.write(row) ;
+				out.newLine() ;
+				out.flush() ;							// A reader of the file sees every finished file
+			}
+		}
+	}
+
+	/* This is a bean class for a file going through the stages */
+	private static class Job {
+		final int index ;								// Position of the file in the input
+		final String path ;
+		final FinderConfig config ;						// The options with the path of the file
+		AutoFinder.Choice choice ;						// The engine of the file, set by the preparing stage
+		String error ;									// Why the file could not be prepared, or null
+
+		Job(int index, String path, FinderConfig config) {
+			this.index = index ;
+			this.path = path ;
+			this.config = config ;
+		}
+	}
+
+	public static void main(String[] args) {
+		String input = "E:/Java/TempWS/IBMTest/resources" ;
+		String output = "batch-results.tsv" ;
+		String engineName = "auto" ;
+		int workers = Runtime.getRuntime().availableProcessors() ;
+		FinderConfig options = new FinderConfig(input) ;	// Collects the options, the path is replaced for every file
+		for(String arg : args) {
+			if(arg.startsWith("-out=")) {
+				output = arg.substring("-out=".length()) ;
+			}
+			else if(arg.startsWith("-workers=")) {
+				workers = Integer.parseInt(arg.substring("-workers=".length())) ;
+			}
+			else if(arg.startsWith("-engine=")) {
+				engineName = arg.substring("-engine=".length()) ;
+			}
+			else if(arg.startsWith("-threads=")) {
+				options.setThreads(Integer.parseInt(arg.substring("-threads=".length()))) ;
+			}
+			else if(arg.equals("-topOnly")) {
+				options.setTopOnly(true) ;
+			}
+			else if(arg.startsWith("-top=")) {
+				options.setOutputSize(Integer.parseInt(arg.substring("-top=".length()))) ;
+			}
+			else if(arg.startsWith("-tieBreak=")) {
+				options.setTieBreak(TopKCollector.TieBreak.valueOf(arg.substring("-tieBreak=".length()).toUpperCase())) ;
+			}
+			else if(arg.startsWith("-heapBudget=")) {
+				options.setHeapBudget(Long.parseLong(arg.substring("-heapBudget=".length())) << 20) ;
+			}
+			else if(arg.startsWith("-tmp=")) {
+				options.setTempDirectory(Paths.get(arg.substring("-tmp=".length()))) ;
+			}
+			else {
+				input = arg ;
+			}
+		}
+		
+		try {
+			long millis1 = System.currentTimeMillis() ;
+			List<String> paths = listInputs(Paths.get(input)) ;
+			BatchRunner runner = new BatchRunner(options, engineName, workers) ;
+			runner.run(paths, Paths.get(output)) ;
+			long millis2 = System.currentTimeMillis() ;
+			System.out.println("Files = " + paths.size() + ", errors = " + runner.getErrors() + ", workers = " + workers) ;
+			System.out.printf("Time taken = %d milliseconds\n", (millis2 - millis1)) ;
+			System.out.println("Results written to " + output) ;
+		}
+		catch(IOException e) {
+			System.err.println("IO exception") ;
+			e.printStackTrace() ;
+		}
+	}
+}
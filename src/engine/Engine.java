@@ -0,0 +1,31 @@
+package engine;
+
+import java.io.IOException;
+
+import aho_corasick.ConcatenatedWordsFinder_AhoCorasick;
+import common.ConcatenatedWordsFinder;
+import common.FinderConfig;
+import common.FinderResult;
+import dynamic_programming.ConcatenatedWordsFinder_DP;
+import dynamic_programming.ConcatenatedWordsFinder_External;
+import suffixtree.ConcatenatedWordsFinder_PrefixTree;
+
+/* This enum lists the finders behind the common interface */
+public enum Engine implements ConcatenatedWordsFinder {
+
+	DP(ConcatenatedWordsFinder_DP::find),						// Byte arena and the LINEAR check
+	PREFIX_TREE(ConcatenatedWordsFinder_PrefixTree::find),		// CompactTrie and the suffix queue
+	AHO_CORASICK(ConcatenatedWordsFinder_AhoCorasick::find),	// One automaton scan per word
+	EXTERNAL(ConcatenatedWordsFinder_External::find) ;			// External sort and a memory-mapped index
+
+	private final ConcatenatedWordsFinder finder ;
+
+	Engine(ConcatenatedWordsFinder finder) {
+		this.finder = finder ;
+	}
+
+	@Override
+	public FinderResult find(final FinderConfig config) throws IOException {
+		return finder.find(config) ;
+	}
+}
@@ -0,0 +1,183 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+import suffixtree.MappedTrie;
+
+/* This class samples a word list to describe it without reading it whole
+ * SAMPLES windows of WINDOW_SIZE bytes are read at evenly spaced positions, the first one at the start of the file and the last one
+ * at its end. A file smaller than all the windows is read whole
+ * The first word of a window and its last word are dropped unless they start or end the file, as they may be cut
+ * The counts of the file are extrapolated from the bytes per word of the sample
+ * A compiled dictionary is not sampled, its header gives the word count and the longest word */
+public class InputStatistics {
+
+	private static final int SAMPLES = 16 ;
+	private static final int WINDOW_SIZE = 64 * 1024 ;
+
+	private final long fileBytes ;						// Size of the file
+	private final boolean compiled ;					// Whether the file is a dictionary compiled by DictionaryCompiler
+	private long sampledBytes = 0 ;						// Bytes of the whole words of the sample
+	private long sampledWords = 0 ;
+	private long sampledChars = 0 ;
+	private int maxLength = 0 ;							// Longest word of the sample
+	private int[] lengths = new int[64] ;				// Number of sampled words of every length
+	private final BitSet alphabet = new BitSet() ;		// Characters seen in the sample
+	private long compiledWords = 0 ;
+
+	// Private constructor, the statistics are created by sample()
+	private InputStatistics(long fileBytes, boolean compiled) {
+		this.fileBytes = fileBytes ;
+		this.compiled = compiled ;
+	}
+
+	// This method samples the file at the given path
+	public static InputStatistics sample(final String path) throws IOException {
+		if(MappedTrie.isCompiled(path)) {
+			MappedTrie trie = MappedTrie.open(path) ;
+			try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+				InputStatistics statistics = new InputStatistics(channel.size(), true) ;
+				statistics.compiledWords = trie.getWordCount() ;
+				statistics.maxLength = trie.getMaxLength() ;
+				return statistics ;
+			}
+		}
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long size = channel.size() ;
+			InputStatistics statistics = new InputStatistics(size, false) ;
+			if(size <= (long) SAMPLES * WINDOW_SIZE) {
+				statistics.scan(read(channel, 0, (int) size), true, true) ;
+				return statistics ;
+			}
+			for(int i=0 ; i<SAMPLES ; i++) {
+				long position = (size - WINDOW_SIZE) * i / (SAMPLES - 1) ;	// Multiplied first, so the last window ends at the file end
+				statistics.scan(read(channel, position, WINDOW_SIZE), position == 0, position + WINDOW_SIZE == size) ;
+			}
+			return statistics ;
+		}
+	}
+
+	// This method reads length bytes of the channel from the given position
+	private static byte[] read(final FileChannel channel, final long position, final int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length) ;
+		while(buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+			// Reads until the window is full or the file ends
+		}
+		byte[] bytes = new byte[buffer.position()] ;
+		buffer.flip() ;
+		buffer.get(bytes) ;
+		return bytes ;
+	}
+
+	/* This method counts the words of a window
+	 * A word cut by the start or the end of the window is dropped, unless the window starts or ends the file */
+	private void scan(final byte[] bytes, final boolean fileStart, final boolean fileEnd) {
+		String text = new String(bytes, StandardCharsets.UTF_8) ;
+		int i = 0 ;
+		if(! fileStart) {
+			while(i < text.length() && ! Character.isWhitespace(text.charAt(i))) {
+				i++ ;									// The rest of a word started before the window
+			}
+		}
+		while(i < text.length()) {
+			while(i < text.length() && Character.isWhitespace(text.charAt(i))) {
+				i++ ;
+			}
+			int start = i ;
+			while(i < text.length() && ! Character.isWhitespace(text.charAt(i))) {
+				i++ ;
+			}
+			if(start == i || (i == text.length() && ! fileEnd)) {
+				break ;									// No word left, or a word that may go on after the window
+			}
+			add(text, start, i) ;
+		}
+	}
+
+	// This method adds the word text[start, end) to the sample
+	private void add(final String text, final int start, final int end) {
+		int length = end - start ;
+		sampledWords++ ;
+		sampledChars += length ;
+		sampledBytes++ ;								// One separator
+		maxLength = Math.max(maxLength, length) ;
+		if(length >= lengths.length) {
+			int[] grown = new int[Math.max(length + 1, lengths.length * 2)] ;
+			System.arraycopy(lengths, 0, grown, 0, lengths.length) ;
+			lengths = grown ;
+		}
+		lengths[length]++ ;
+		for(int i=start ; i<end ; i++) {
+			char ch = text.charAt(i) ;
+			alphabet.set(ch) ;
+			// UTF-8 length of the character. A surrogate is half of a four-byte sequence
+			sampledBytes += (ch < 0x80) ? 1 : (ch < 0x800 || Character.isSurrogate(ch)) ? 2 : 3 ;
+		}
+	}
+
+	// Returns whether the file is a compiled dictionary
+	public boolean isCompiled() {
+		return compiled ;
+	}
+
+	// Getter for the size of the file
+	public long getFileBytes() {
+		return fileBytes ;
+	}
+
+	// Returns the estimated number of words of the file, including the repeated ones
+	public long getEstimatedWords() {
+		if(compiled) {
+			return compiledWords ;
+		}
+		return (sampledBytes > 0) ? fileBytes * sampledWords / sampledBytes : 0 ;
+	}
+
+	// Returns the mean length of the sampled words
+	public double getMeanLength() {
+		return (sampledWords > 0) ? (double) sampledChars / sampledWords : maxLength ;
+	}
+
+	// Returns the length that 99% of the sampled words do not exceed
+	public int getLength99() {
+		long limit = (long) Math.ceil(sampledWords * 0.99) ;
+		long seen = 0 ;
+		for(int length=0 ; length<lengths.length ; length++) {
+			seen += lengths[length] ;
+			if(seen >= limit && seen > 0) {
+				return length ;
+			}
+		}
+		return maxLength ;
+	}
+
+	// Getter for the longest word of the sample (of the whole dictionary if it is compiled)
+	public int getMaxLength() {
+		return maxLength ;
+	}
+
+	// Returns the number of different characters of the sample, 0 for a compiled dictionary
+	public int getAlphabetSize() {
+		return alphabet.cardinality() ;
+	}
+
+	// Returns whether every sampled character fits in one byte (Latin-1)
+	public boolean isLatin1() {
+		return alphabet.nextSetBit(0x100) < 0 ;
+	}
+
+	@Override
+	public String toString() {
+		if(compiled) {
+			return String.format("compiled dictionary, words = %d, longest = %d", getEstimatedWords(), maxLength) ;
+		}
+		return String.format("bytes = %d, words = %d (estimated from %d), mean length = %.1f, 99%% length = %d, longest = %d, alphabet = %d%s",
+				fileBytes, getEstimatedWords(), sampledWords, getMeanLength(), getLength99(), maxLength, getAlphabetSize(), isLatin1() ? " (Latin-1)" : "") ;
+	}
+}
@@ -0,0 +1,113 @@
+package service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import dynamic_programming.Segmentation;
+import dynamic_programming.SegmentationStrategy;
+
+/**
+ * BASIC INFORMATION
+ * This program loads a dictionary once and answers tokens read from the standard input, one token per line
+ * The dictionary can be a word list or a dictionary compiled by suffixtree.DictionaryCompiler
+ * Arguments: [path] [-workers=N] [-batch=M] [-strategy=first|min_parts|count_all]
+ * 
+ * PROTOCOL
+ * Every input line is one token. Every token gets exactly one output line, in input order:
+ * token TAB 1 TAB part1 SPACE part2 ...		if the token splits into dictionary words
+ * token TAB 0								otherwise
+ * With -strategy=min_parts the parts are a split with the fewest words
+ * With -strategy=count_all the line ends with TAB and the number of distinct splits (0 for a token that does not split)
+ * The lines are read into batches of at most M tokens. A batch is also cut when no more input is ready yet,
+ * so an interactive client gets its answers without filling a batch. The output is flushed after every batch
+ * Empty lines are answered as tokens that are not concatenated. The server stops at the end of the input
+ * 
+ * EXAMPLE
+ * With the words cat, cats, dog, rat, the input ratcatdogcat gives: ratcatdogcat	1	rat cat dog cat
+ */
+public class SegmentationServer {
+
+	private final SegmentationService service ;
+	private final int batchSize ;
+
+	// Default access constructor for package only access
+	SegmentationServer(SegmentationService service, int batchSize) {
+		this.service = service ;
+		this.batchSize = batchSize ;
+	}
+
+	// This method answers the lines of the reader until its end
+	void serve(final BufferedReader in, final Writer out) throws IOException {
+		List<String> batch = new ArrayList<>(batchSize) ;
+		String line ;
+		while((line = in.readLine()) != null) {
+			batch.add(line) ;
+			if(batch.size() == batchSize || ! in.ready()) {
+				answer(batch, out) ;
+				batch.clear() ;
+			}
+		}
+		answer(batch, out) ;
+	}
+
+	// This method writes the answers of the batch and flushes them
+	private void answer(final List<String> batch, final Writer out) throws IOException {
+		if(batch.isEmpty()) {
+			return ;
+		}
+		for(Segmentation segmentation : service.segmentAll(batch)) {
+			out.write(segmentation.getToken()) ;
+			if(segmentation.isConcatenated()) {
+				out.write("\t1\t") ;
+				out.write(String.join(" ", segmentation.getParts())) ;
+			}
+			else {
+				out.write("\t0") ;
+			}
+			if(segmentation.getCount() >= 0) {
+				out.write('\t') ;
+				out.write(Long.toString(segmentation.getCount())) ;
+			}
+			out.write('\n') ;
+		}
+		out.flush() ;
+	}
+
+	public static void main(String[] args) throws IOException {
+		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		int workers = Runtime.getRuntime().availableProcessors() ;
+		int batchSize = 1024 ;
+		SegmentationStrategy strategy = SegmentationStrategy.FIRST ;
+		for(String arg : args) {
+			if(arg.startsWith("-workers=")) {
+				workers = Integer.parseInt(arg.substring("-workers=".length())) ;
+			}
+			else if(arg.startsWith("-batch=")) {
+				batchSize = Integer.parseInt(arg.substring("-batch=".length())) ;
+			}
+			else if(arg.startsWith("-strategy=")) {
+				strategy = SegmentationStrategy.valueOf(arg.substring("-strategy=".length()).toUpperCase()) ;
+			}
+			else {
+				path = arg ;
+			}
+		}
+		long millis1 = System.currentTimeMillis() ;
+		try(SegmentationService service = SegmentationService.load(path, workers, strategy)) {
+			long millis2 = System.currentTimeMillis() ;
+			// The log goes to the standard error, the standard output only carries answers
+			System.err.printf("Loaded %d words in %d milliseconds, %d workers, batches of %d\n",
+					service.getSegmenter().getWordCount(), (millis2 - millis1), workers, batchSize) ;
+			BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16) ;
+			BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16) ;
+			new SegmentationServer(service, batchSize).serve(in, out) ;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import dynamic_programming.Segmentation;
+import dynamic_programming.SegmentationStrategy;
+import dynamic_programming.Segmenter;
+
+/* This class answers batches of tokens against a dictionary loaded once
+ * A batch is cut into one slice per worker and the slices run on a fixed pool of worker threads
+ * Small batches run on the calling thread, as handing them to the pool costs more than checking them
+ * Every token is split with the strategy of the service. The answers are returned in the order of the tokens. The service must be closed to stop the workers */
+public class SegmentationService implements AutoCloseable {
+
+	private static final int MIN_PARALLEL_BATCH = 256 ;	// Smaller batches are not split between the workers
+
+	private final Segmenter segmenter ;
+	private final int workers ;
+	private final SegmentationStrategy strategy ;
+	private final ExecutorService pool ;
+
+	public SegmentationService(Segmenter segmenter, int workers) {
+		this(segmenter, workers, SegmentationStrategy.FIRST) ;
+	}
+
+	public SegmentationService(Segmenter segmenter, int workers, SegmentationStrategy strategy) {
+		if(workers <= 0) {
+			throw new IllegalArgumentException("The number of workers must be positive: " + workers) ;
+		}
+		this.segmenter = segmenter ;
+		this.workers = workers ;
+		this.strategy = strategy ;
+		pool = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "segmentation-worker") ;
+			thread.setDaemon(true) ;
+			return thread ;
+		}) ;
+	}
+
+	// This method loads the dictionary of the file (a word list or a compiled dictionary) and starts the workers
+	public static SegmentationService load(final String path, final int workers, final SegmentationStrategy strategy) throws IOException {
+		return new SegmentationService(Segmenter.load(path), workers, strategy) ;
+	}
+
+	// This method answers one token on the calling thread
+	public Segmentation segment(final String token) {
+		return segmenter.segment(token, strategy) ;
+	}
+
+	// This method answers a batch of tokens. The answer at index i belongs to the token at index i
+	public List<Segmentation> segmentAll(final List<String> tokens) {
+		if(workers == 1 || tokens.size() < MIN_PARALLEL_BATCH) {
+			return segmentRange(tokens, 0, tokens.size()) ;
+		}
+		int sliceSize = (tokens.size() + workers - 1) / workers ;
+		List<Future<List<Segmentation>>> slices = new ArrayList<>() ;
+		for(int from = 0 ; from < tokens.size() ; from += sliceSize) {
+			final int start = from ;
+			final int end = Math.min(tokens.size(), from + sliceSize) ;
+			slices.add(pool.submit(() -> segmentRange(tokens, start, end))) ;
+		}
+		List<Segmentation> answers = new ArrayList<>(tokens.size()) ;
+		try {
+			for(Future<List<Segmentation>> slice : slices) {
+				answers.addAll(slice.get()) ;
+			}
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt() ;
+			throw new IllegalStateException("Interrupted while segmenting a batch", e) ;
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("Segmentation failed", e.getCause()) ;
+		}
+		return answers ;
+	}
+
+	// This method answers the tokens[from, to) on the current thread
+	private List<Segmentation> segmentRange(final List<String> tokens, final int from, final int to) {
+		List<Segmentation> answers = new ArrayList<>(to - from) ;
+		for(int i=from ; i<to ; i++) {
+			answers.add(segment(tokens.get(i))) ;
+		}
+		return answers ;
+	}
+
+	// Getter for the segmenter, for single token queries
+	public Segmenter getSegmenter() {
+		return segmenter ;
+	}
+
+	// This method stops the workers
+	@Override
+	public void close() {
+		pool.shutdown() ;
+	}
+}
@@ -0,0 +1,50 @@
+package suffixtree;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/* This class is a fixed-size bit set that many threads can set and read at the same time
+ * It stores one bit per word id, for example whether the word is proven to be a concatenated word,
+ * or one bit per character of the dictionary, for example whether a suffix of a word was already expanded
+ * The indexes are longs, but the finder only uses word ids and WordTable positions, which WordTable keeps within an int */
+class AtomicBitSet {
+
+	private final AtomicLongArray bits ;
+
+	// Default access constructor for package only access
+	AtomicBitSet(long size) {
+		long words = (size + 63) >>> 6 ;
+		if(words > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many bits for one AtomicBitSet: " + size) ;
+		}
+		bits = new AtomicLongArray((int) words) ;
+	}
+
+	// This method sets the bit and returns false if it was already set
+	boolean set(final long index) {
+		int word = (int) (index >>> 6) ;
+		long mask = 1L << index ;
+		while(true) {
+			long current = bits.get(word) ;
+			if((current & mask) != 0) {
+				return false ;
+			}
+			if(bits.compareAndSet(word, current, current | mask)) {
+				return true ;
+			}
+		}
+	}
+
+	// This method returns the bit
+	boolean get(final long index) {
+		return (bits.get((int) (index >>> 6)) & (1L << index)) != 0 ;
+	}
+
+	// This method returns the number of set bits
+	long cardinality() {
+		long count = 0 ;
+		for(int i=0 ; i<bits.length() ; i++) {
+			count += Long.bitCount(bits.get(i)) ;
+		}
+		return count ;
+	}
+}
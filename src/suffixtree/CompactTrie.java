@@ -0,0 +1,257 @@
+package suffixtree;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import common.WordConsumer;
+
+/* This class stores the Trie in parallel primitive arrays instead of TrieNode objects
+ * A node is an int index. Node 0 is the root
+ * The children of a node are a linked list: firstChild[node] -> nextSibling[child] -> ... -> NONE
+ * No object is created per node or per edge, and the traversal never boxes a character
+ * write() stores the arrays in the compiled dictionary format read by MappedTrie, with the words listed by decreasing length */
+class CompactTrie implements Trie {
+
+	private static final int NONE = -1 ;				// Marks a missing child or sibling
+	private static final int ROOT = 0 ;
+
+	private char[] letter ;								// The node character
+	private int[] firstChild ;							// The first child of the node
+	private int[] nextSibling ;							// The next child of the node's parent
+	private long[] isWord ;								// Bit set. Denotes whether the node represents a word or not
+	private int nodeCount = 0 ;							// Number of used entries in the arrays
+	private int maxLength = 0 ;							// Length of the longest word
+	private boolean frozen ;							// Denotes whether the Trie is read-only
+
+	// Default access constructor for package only access
+	CompactTrie() {
+		this(1024) ;
+	}
+
+	// Constructor with the expected number of nodes to avoid growing the arrays
+	CompactTrie(int expectedNodes) {
+		int capacity = Math.max(16, expectedNodes) ;
+		letter = new char[capacity] ;
+		firstChild = new int[capacity] ;
+		nextSibling = new int[capacity] ;
+		isWord = new long[(capacity + 63) >>> 6] ;
+		newNode('*') ;									// The root stores a dummy asterisk character
+	}
+
+	// Wrapper method for adding a word
+	@Override
+	public void insertWord(String word) {
+		insertWord(word, 0, word.length()) ;
+	}
+
+	// This method iteratively creates the required nodes in the Trie to insert word[from, to)
+	@Override
+	public void insertWord(CharSequence word, int from, int to) {
+		if(frozen) {
+			throw new IllegalStateException("The Trie is frozen") ;
+		}
+		int node = ROOT ;
+		for(int i=from ; i<to ; i++) {
+			char curr = word.charAt(i) ;
+			int child = findChild(node, curr) ;
+			if(child == NONE) {							// If the path does not exist
+				child = newNode(curr) ;
+				nextSibling[child] = firstChild[node] ;
+				firstChild[node] = child ;
+			}
+			node = child ;
+		}
+		isWord[node >>> 6] |= 1L << node ;
+		maxLength = Math.max(maxLength, to - from) ;
+	}
+
+	// Wrapper method creating the suffix strings from the offsets found by getSuffixOffsets()
+	@Override
+	public ArrayList<String> getSuffixes(String word) {
+		int[] offsets = new int[word.length()] ;
+		int count = getSuffixOffsets(word, 0, offsets) ;
+		ArrayList<String> suffixes = new ArrayList<>(count) ;
+		for(int i=0 ; i<count ; i++) {
+			suffixes.add(word.substring(offsets[i])) ;
+		}
+		return suffixes ;
+	}
+
+	/* This method walks word[from, to) from the root once and stores the start of the suffix after every prefix that is a word
+	 * The walk stops at the first character without a matching child */
+	@Override
+	public int getSuffixOffsets(CharSequence word, int from, int to, int[] offsets) {
+		int count = 0 ;
+		int node = ROOT ;
+		// The last character is not visited as a prefix equal to the word leaves an empty suffix
+		for(int i=from ; i<to - 1 ; i++) {
+			node = findChild(node, word.charAt(i)) ;
+			if(node == NONE) {
+				break ;
+			}
+			if(isWord(node)) {
+				offsets[count++] = i + 1 ;
+			}
+		}
+		return count ;
+	}
+
+	// Wrapper method for checking if the Trie contains the given word
+	@Override
+	public boolean containsWord(String word) {
+		return containsWord(word, 0, word.length()) ;
+	}
+
+	// This method iteratively finds whether the Trie contains word[from, to) or not
+	@Override
+	public boolean containsWord(CharSequence word, int from, int to) {
+		int node = ROOT ;
+		for(int i=from ; i<to ; i++) {
+			node = findChild(node, word.charAt(i)) ;
+			if(node == NONE) {
+				return false ;
+			}
+		}
+		return isWord(node) ;
+	}
+
+	// This method iteratively finds whether the Trie contains chars[from, to) or not
+	@Override
+	public boolean containsWord(char[] chars, int from, int to) {
+		int node = ROOT ;
+		for(int i=from ; i<to ; i++) {
+			node = findChild(node, chars[i]) ;
+			if(node == NONE) {
+				return false ;
+			}
+		}
+		return isWord(node) ;
+	}
+
+	/* This method visits the words with an iterative depth-first traversal
+	 * The stack holds the nodes left to visit with their depth, the path holds the characters from the root
+	 * The root has the depth -1, as its dummy character is not a part of any word */
+	@Override
+	public void forEachWordChars(WordConsumer consumer) {
+		int[] stack = new int[64] ;
+		int[] depths = new int[64] ;
+		char[] path = new char[64] ;
+		int top = 0 ;
+		stack[top] = ROOT ;
+		depths[top++] = -1 ;
+		while(top > 0) {
+			int node = stack[--top] ;
+			int depth = depths[top] ;
+			if(node != ROOT) {
+				if(depth == path.length) {
+					path = Arrays.copyOf(path, depth * 2) ;
+				}
+				path[depth] = letter[node] ;
+				if(isWord(node)) {
+					consumer.accept(path, 0, depth + 1) ;
+				}
+			}
+			for(int child = firstChild[node] ; child != NONE ; child = nextSibling[child]) {
+				if(top == stack.length) {
+					stack = Arrays.copyOf(stack, top * 2) ;
+					depths = Arrays.copyOf(depths, top * 2) ;
+				}
+				stack[top] = child ;
+				depths[top++] = depth + 1 ;
+			}
+		}
+	}
+
+	// The arrays are never written after this call
+	@Override
+	public void freeze() {
+		frozen = true ;
+	}
+
+	// This method prints the number of nodes and the bytes held by the arrays
+	@Override
+	public void printTrieSize() {
+		long bytes = (long) letter.length * 2 + (long) firstChild.length * 4 + (long) nextSibling.length * 4 + (long) isWord.length * 8 ;
+		System.out.println("Trie nodes = " + nodeCount) ;
+		System.out.println("Trie size = " + bytes) ;
+	}
+
+	/* This method writes the Trie in the compiled dictionary format (see MappedTrie for the layout)
+	 * Only the used entries of the arrays are written
+	 * The word section lists the words in the order of WordTable.of(), so a mapped dictionary gives the same word ids */
+	void write(DataOutputStream out) throws IOException {
+		int bitWords = (nodeCount + 63) >>> 6 ;
+		int wordCount = 0 ;
+		for(int i=0 ; i<bitWords ; i++) {
+			wordCount += Long.bitCount(isWord[i]) ;
+		}
+		out.writeInt(MappedTrie.MAGIC) ;
+		out.writeInt(MappedTrie.VERSION) ;
+		out.writeInt(nodeCount) ;
+		out.writeInt(wordCount) ;
+		out.writeInt(maxLength) ;
+		out.writeInt(0) ;								// Pads the header to HEADER_SIZE bytes
+		for(int i=0 ; i<nodeCount ; i++) {
+			out.writeChar(letter[i]) ;
+		}
+		padTo(out, MappedTrie.firstChildOffset(nodeCount)) ;
+		for(int i=0 ; i<nodeCount ; i++) {
+			out.writeInt(firstChild[i]) ;
+		}
+		for(int i=0 ; i<nodeCount ; i++) {
+			out.writeInt(nextSibling[i]) ;
+		}
+		padTo(out, MappedTrie.isWordOffset(nodeCount)) ;
+		for(int i=0 ; i<bitWords ; i++) {
+			out.writeLong(isWord[i]) ;
+		}
+		
+		WordTable words = WordTable.of(this) ;
+		for(int id=0 ; id<=words.size() ; id++) {
+			out.writeInt(words.start(id)) ;				// The start after the last word is the end of the characters
+		}
+		CharSequence chars = words.chars() ;
+		for(int i=0 ; i<chars.length() ; i++) {
+			out.writeChar(chars.charAt(i)) ;
+		}
+	}
+
+	// This method writes zero bytes up to the given file position, so the next array is aligned
+	private static void padTo(DataOutputStream out, long position) throws IOException {
+		while(out.size() < position) {
+			out.writeByte(0) ;
+		}
+	}
+
+	// This method scans the children of the node for the given character
+	private int findChild(int node, char ch) {
+		int child = firstChild[node] ;
+		while(child != NONE && letter[child] != ch) {
+			child = nextSibling[child] ;
+		}
+		return child ;
+	}
+
+	// Checks the word bit of the node
+	private boolean isWord(int node) {
+		return (isWord[node >>> 6] & (1L << node)) != 0 ;
+	}
+
+	// This method appends a node without children and grows the arrays if they are full
+	private int newNode(char ch) {
+		if(nodeCount == letter.length) {
+			int capacity = letter.length * 2 ;
+			letter = Arrays.copyOf(letter, capacity) ;
+			firstChild = Arrays.copyOf(firstChild, capacity) ;
+			nextSibling = Arrays.copyOf(nextSibling, capacity) ;
+			isWord = Arrays.copyOf(isWord, (capacity + 63) >>> 6) ;
+		}
+		int node = nodeCount++ ;
+		letter[node] = ch ;
+		firstChild[node] = NONE ;
+		nextSibling[node] = NONE ;
+		return node ;
+	}
+}
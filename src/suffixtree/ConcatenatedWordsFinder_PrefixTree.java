@@ -1,14 +1,17 @@
 package suffixtree;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.PriorityQueue;
-import java.util.Scanner;
+import java.nio.file.NoSuchFileException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import common.FinderConfig;
+import common.FinderResult;
+import common.MappedWordLoader;
+import common.Metrics;
+import common.TopKCollector;
 
 /**
  * BASIC INFORMATION
@@ -16,6 +19,8 @@ import java.util.Scanner;
  * Author: Saurabh Agrawal (saurabhagrawal0412@gmail.com)
  * This program finds the two longest concatenated words and the total count of concatenated words
  * Takes input from the file: 'E:/Java/TempWS/IBMTest/resources/words for problem.txt'
+ * The input file (a word list or a dictionary compiled by DictionaryCompiler), the Trie implementation and the thread count can be passed as arguments: [path] [-trie=compact|node] [-threads=N] [-topOnly]
+ * The number of longest words and their tie-break can be passed as well: [-top=K] [-tieBreak=arrival|lexicographic] (lexicographic by default, which does not depend on the input order)
  * 
  * EXAMPLE
  * For example, if the file contained the words:
@@ -25,12 +30,28 @@ import java.util.Scanner;
  * 
  * STEPS
  * 1: Build a Prefix tree (Trie) 
- * 2: Add each word to the tree and check if it has prefixes or not 
- * 3: If it has prefixes, add the resulting suffixes to a list
- * 4: After the tree is built, process the list of suffixes
- * 5: For every suffix, check whether it is a valid word or not
- * 6: If it is, add the word to a set and check if it could be added to the output list
- * 7: Print the outputs (the size of the word set is the total count of concatenated words)
+ *    CompactTrie (default) stores the nodes in primitive arrays, TrieNode stores them as objects with a HashMap of children
+ * 2: Add each word to the tree. The file is read through MappedWordLoader
+ *    A compiled dictionary is mapped as a read-only MappedTrie instead, and steps 1 and 2 are skipped
+ *    With more than one thread, the file is tokenized as byte ranges in parallel and the words are added in file order
+ * 3: After the whole tree is built, freeze it, number its words by decreasing length and check every word for prefixes
+ *    The words are kept by id in one sequence of characters (WordTable), and looked up in place as ranges of it
+ *    A compiled dictionary stores this table already, so its words are read from the mapping and never decoded
+ *    As every prefix is already in the tree, the result does not depend on the order of the input file
+ *    With more than one thread, the words are checked in parallel
+ * 4: If it has prefixes, add the resulting suffixes to a queue (SuffixQueue)
+ *    A suffix is stored as the word id and the offset where it starts, packed in a long. No suffix string is created
+ * 5: Process the queue of suffixes. For every suffix, check whether it is a valid word or not
+ * 6: If it is, mark the word id in a bit set and offer the word to the output collector (TopKCollector), a bounded heap of the longest words
+ * 7: Print the outputs (the number of marked word ids is the total count of concatenated words)
+ * With more than one thread, the queue entries of step 5 are split into ranges processed by fork-join tasks (SuffixTask)
+ * Every entry is searched depth-first by its thread, and the proven words are marked in a thread-safe bit set (AtomicBitSet)
+ * A second bit set marks the suffixes already searched, so every (word id, offset) is searched at most once
+ * With -topOnly, steps 3 to 6 run once per word length, from the longest words down
+ * They stop once the output list is full, as every remaining word is shorter. No count is computed
+ * With -Dconcatenatedwords.metrics=true, the phases, the lookups and the suffix queue are counted (common.Metrics)
+ * The counters are published through JMX and printed after the output
+ * Other classes run the finder through find(FinderConfig), which uses the CompactTrie
  * 
  * OUTPUT
  * Longest concatenated word: ethylenediaminetetraacetates (length = 28)
@@ -61,36 +82,36 @@ import java.util.Scanner;
  * and the count of concatenated words in the file*/
 public class ConcatenatedWordsFinder_PrefixTree {
 	
-	private TrieNode root ;								// Stores the root of the prefix tree (Trie)
-	private PriorityQueue<PrefixEntry> suffixQueue ;	// Stores the suffix list with decreasing word-length
-	private ArrayList<String> outputList ;				// Stores the output words
-	private int outputSize = 2 ;						// The number of longest concatenated words required
-	private HashSet<String> concatSet ;
-	// This set contains the processed concatenated words. Only had to use it to find the total number of concatenated words 
+	private Trie root ;									// Stores the root of the prefix tree (Trie)
+	private WordTable words ;							// All the words by decreasing length. The index is the word id
+	private SuffixQueue suffixQueue ;					// Stores the suffixes as (word id, offset), longest words first
+	private final TopKCollector output ;				// Stores the output words
+	private long outputSequence = 0 ;					// Number of words offered to the output. Orders the ties by arrival
+	private AtomicBitSet proven ;						// This bit set marks the processed concatenated words by word id. Only had to use it to find the total number of concatenated words
+	private AtomicBitSet visitedSuffixes ;				// Parallel mode: suffixes already searched by a task, one bit per character of the WordTable
+	private ThreadLocal<SuffixTask.Scratch> scratch ;	// Parallel mode: the offsets and the search stack of every worker thread
+	private final boolean compactTrie ;					// Whether the Trie is a CompactTrie or a TrieNode graph
+	private final int threads ;							// Number of threads processing the suffix queue
+	private final boolean topOnly ;						// Whether only the output list is required, without the count
+	private final Metrics metrics = new Metrics("PrefixTree") ;	// Only updated with Metrics.ENABLED
 	
-	// Private constructor to make the main class singleton
-	private ConcatenatedWordsFinder_PrefixTree() {
-		suffixQueue = new PriorityQueue<PrefixEntry>(new PrefixEntryComparator()) ;
-		outputList = new ArrayList<>() ;
-		concatSet = new HashSet<>() ;
+	// Default access constructor. Only main and the benchmarks of the same package create the finder
+	ConcatenatedWordsFinder_PrefixTree(boolean compactTrie, int threads, boolean topOnly, int outputSize, TopKCollector.TieBreak tieBreak) {
+		this.compactTrie = compactTrie ;
+		this.threads = threads ;
+		this.topOnly = topOnly ;
+		suffixQueue = new SuffixQueue() ;
+		output = new TopKCollector(outputSize, tieBreak) ;
 	}
 	
-	// This method reads the file from the given path and store the words in the dictionary
-	private void makeTrie(final String path) {
-		root = new TrieNode('*') ;						// The root stores a dummy asterisk character
-		
-		// Try-with-resources block to automatically close the streams
-		// 8 KB buffer provides good disk-read performance on my system
-		try(Reader reader = new BufferedReader(new FileReader(path), 8192)) {
-			Scanner sc = new Scanner(reader) ;
-			while(sc.hasNext()) {
-				String word = sc.next() ;
-				root.insertWord(word) ;					// This TrieNode's method inserts the word in the Trie
-				preparePrefixList(word) ;				// Method call to find and store suffixes of the word
-			}
-			sc.close() ;
-		}
-		catch(FileNotFoundException e) {
+	/* Phase 1: This method reads the file from the given path and store the words in the Trie
+	 * No suffix is looked up here, as a prefix of a word may come later in the file
+	 * Afterwards, the words of the Trie get their ids, from the longest word down */
+	void makeTrie(final String path) {
+		try {
+			loadTrie(path) ;
+		}
+		catch(NoSuchFileException e) {
 			System.err.println("File not found") ;
 			e.printStackTrace() ;
 		}
@@ -100,113 +121,333 @@ public class ConcatenatedWordsFinder_PrefixTree {
 		}
 	}
 	
-	// This method finds all the suffixes of a word and insert it in the suffix list
-	private void preparePrefixList(final String word) {
-		ArrayList<String> suffixes = root.getSuffixes(word) ;
-		// Called getSuffixes() method of TrieNode to get the list of suffixes for a given word
+	// This method builds (or maps) the Trie and numbers its words. If the file can not be read, the words read so far are numbered
+	private void loadTrie(final String path) throws IOException {
+		long start = System.nanoTime() ;
+		root = compactTrie ? new CompactTrie() : new TrieNode('*') ;	// The TrieNode root stores a dummy asterisk character
+		
+		try {
+			if(MappedTrie.isCompiled(path)) {
+				root = MappedTrie.open(path) ;			// A compiled dictionary is mapped instead of built
+			}
+			else {
+				insertWords(path) ;
+			}
+		}
+		finally {
+			root.freeze() ;								// The Trie is only read from here on
+			numberWords(start) ;
+		}
+	}
+	
+	/* This method lists the words of the frozen Trie by decreasing length, which gives their ids
+	 * The words of a compiled dictionary are listed in its file already, so they are not read here */
+	private void numberWords(final long start) {
+		words = WordTable.of(root) ;
+		proven = new AtomicBitSet(words.size()) ;
+		if(Metrics.ENABLED) {
+			metrics.endLoad(start, words.size()) ;
+		}
+	}
+	
+	// This method reads the words of the text file into the Trie
+	private void insertWords(final String path) throws IOException {
+		// The file is memory-mapped and split on whitespace, blank lines are skipped
+		if(threads > 1) {
+			// The Trie is not thread-safe, thus only the tokenizing runs on the range threads
+			for(WordList shard : MappedWordLoader.loadInParallel(path, threads, WordList::new)) {
+				shard.insertInto(root) ;
+			}
+		}
+		else {
+			// This TrieNode's method inserts the word in the Trie
+			MappedWordLoader.load(path, (chars, offset, length) -> root.insertWord(new String(chars, offset, length))) ;
+		}
+	}
+	
+	/* Phase 2: This method looks up the suffixes of every word of the complete Trie and adds them to the queue
+	 * The Trie is frozen, thus with more than one thread the lookups run in parallel
+	 * and the entries are added to the queue afterwards in one heap construction */
+	void prepareSuffixQueue() {
+		if(threads <= 1) {
+			int[] offsets = new int[maxLength()] ;
+			for(int wordId=0 ; wordId<words.size() ; wordId++) {
+				preparePrefixList(wordId, offsets) ;	// Method call to find and store suffixes of the word
+			}
+			if(Metrics.ENABLED) {
+				metrics.updateQueuePeak(suffixQueue.size()) ;
+			}
+			return ;
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(threads) ;
+		try {
+			long[] entries = pool.submit(() -> IntStream.range(0, words.size()).parallel()
+					.mapToObj(this::suffixEntries)
+					.flatMapToLong(LongStream::of)
+					.toArray()).get() ;
+			suffixQueue.addAll(entries) ;
+			if(Metrics.ENABLED) {
+				metrics.updateQueuePeak(suffixQueue.size()) ;
+			}
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt() ;
+			throw new IllegalStateException("Interrupted while preparing the suffix queue", e) ;
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException("Suffix lookup failed", e.getCause()) ;
+		}
+		finally {
+			pool.shutdown() ;
+		}
+	}
+	
+	/* This method replaces phase 2 and the queue processing when only the output list is required
+	 * The suffixes of one word length are looked up and processed at a time, from the longest words down
+	 * Once the output list is full, no shorter word can enter it, thus the remaining lengths are skipped */
+	private void processLongestWordsOnly() {
+		int[] offsets = new int[maxLength()] ;
+		int wordId = 0 ;
+		while(wordId < words.size() && output.accepts(words.length(wordId))) {
+			int length = words.length(wordId) ;
+			// The words of one length have consecutive ids
+			for( ; wordId < words.size() && words.length(wordId) == length ; wordId++) {
+				preparePrefixList(wordId, offsets) ;
+			}
+			if(Metrics.ENABLED) {
+				metrics.updateQueuePeak(suffixQueue.size()) ;
+			}
+			processPrefixList() ;
+		}
+	}
+	
+	// This method returns the length of the longest word, which is the largest number of suffixes a word can have
+	private int maxLength() {
+		return (words.size() > 0) ? words.length(0) : 0 ;
+	}
+	
+	// This method finds all the suffixes of a word and insert them in the suffix queue
+	private void preparePrefixList(final int wordId, final int[] offsets) {
+		int start = words.start(wordId) ;
+		int count = root.getSuffixOffsets(words.chars(), start, words.end(wordId), offsets) ;
+		// Called getSuffixOffsets() method of the Trie to get the start of every suffix for a given word
+		// The offsets are positions in the WordTable, the queue stores them relative to the word
 		
-		PrefixEntry pEntry = new PrefixEntry(word, suffixes) ;
-		if(pEntry.getSuffixes().size() > 0) {
-			suffixQueue.add(pEntry) ;
+		for(int i=0 ; i<count ; i++) {
+			suffixQueue.add(SuffixQueue.pack(wordId, offsets[i] - start)) ;
+		}
+	}
+	
+	// This method returns the queue entries of a word. It is called by many threads, thus it uses its own offsets array
+	private long[] suffixEntries(final int wordId) {
+		int start = words.start(wordId) ;
+		int[] offsets = new int[words.length(wordId)] ;
+		int count = root.getSuffixOffsets(words.chars(), start, words.end(wordId), offsets) ;
+		long[] entries = new long[count] ;
+		for(int i=0 ; i<count ; i++) {
+			entries[i] = SuffixQueue.pack(wordId, offsets[i] - start) ;
 		}
+		return entries ;
 	}
 	
 	/* This method executes after the Trie is built. For each suffix, it finds whether or not it is a word.
-	 * If the suffix is a word, the base word is added to the set.
-	 * Otherwise, we try to find if it has more prefixes. If it does, we store the smaller suffixes in the queue. */
-	private void processPrefixList() {
+	 * If the suffix is a word, the base word is marked as proven.
+	 * Otherwise, we try to find if it has more prefixes. If it does, we store the smaller suffixes in the queue.
+	 * The smaller suffixes of an entry are larger queue entries of the same word, thus the entries of a word
+	 * are removed one after the other and a suffix reached twice is removed twice in a row */
+	void processPrefixList() {
+		if(threads > 1) {
+			processPrefixListInParallel() ;
+			return ;
+		}
+		int[] offsets = new int[maxLength()] ;
+		long previous = -1 ;
+		long probes = 0 ;								// Counters of the run, only used with Metrics.ENABLED
+		long hits = 0 ;
 		// Runs until the suffix priority queue is empty
 		while(! suffixQueue.isEmpty()) {
-			PrefixEntry pEntry = suffixQueue.remove() ;	// Removes the first element
-			String word = pEntry.getWord() ;
-			
-			// If the word is already in the concatenated word set, we skip the word
-			if(concatSet.contains(word)) {
+			long entry = suffixQueue.remove() ;		// Removes the first element
+			if(entry == previous) {						// The same suffix was reached through another prefix
 				continue ;
 			}
+			previous = entry ;
+			int wordId = SuffixQueue.wordId(entry) ;
 			
-			boolean isFound = false ;
+			// If the word is already proven, we skip the word
+			if(proven.get(wordId)) {
+				continue ;
+			}
 			
-			for(String suffix : pEntry.getSuffixes()) {
-				if(root.containsWord(suffix)) {
-					if(isEligibleOutput(word)) {		// This method compares the size of the current word with the output list
-						addToOutputList(word) ;			// This adds the word to output list at the correct place
-					}
-					isFound = true ;					// Only sets isFound, if it the Trie contains the suffix
-					concatSet.add(word) ;				// The word is a valid concatenated word, thus adding it to the set
-					break ;								// No more processing required
+			int offset = SuffixQueue.offset(entry) ;
+			if(Metrics.ENABLED) {
+				probes++ ;
+			}
+			if(root.containsWord(words.chars(), words.start(wordId) + offset, words.end(wordId))) {
+				if(Metrics.ENABLED) {
+					hits++ ;
 				}
+				offer(wordId) ;							// The collector keeps the word if it is long enough
+				proven.set(wordId) ;					// The word is a valid concatenated word, thus marking it
 			}
-			
-			if(! isFound) {								// If none of the suffixes were words, we call add prefixes
-				addPrefixes(pEntry, word) ;
+			else {										// If the suffix is not a word, we call add prefixes
+				addPrefixes(wordId, offset, offsets) ;
 			}
 		}
+		if(Metrics.ENABLED) {
+			metrics.addProbes(probes, hits) ;
+		}
 	}
 	
-	// This method finds suffixes for all the suffixes of a word and add it to the suffix list
-	private void addPrefixes(PrefixEntry pEntry, final String word) {
-		for(String suffix : pEntry.getSuffixes()) {
-			ArrayList<String> suffixes = root.getSuffixes(suffix) ;// This method finds all the suffixes of a given word
-			PrefixEntry currEntry = new PrefixEntry(word, suffixes) ;
-			
-			if(currEntry.getSuffixes().size() > 0) {
-				suffixQueue.add(currEntry) ;			// Adding the determined suffixes to the queue
+	/* This method processes the entries of the suffix queue with fork-join tasks over ranges of entries
+	 * The entries stay packed longs, so no object is created per entry. The entries of a word share its bit,
+	 * which skips the remaining entries once the word is proven
+	 * The output list is filled afterwards in the order of the word ids */
+	private void processPrefixListInParallel() {
+		if(visitedSuffixes == null) {
+			visitedSuffixes = new AtomicBitSet(words.size() > 0 ? words.end(words.size() - 1) : 0) ;
+			int maxLength = maxLength() ;
+			scratch = ThreadLocal.withInitial(() -> new SuffixTask.Scratch(maxLength)) ;
+		}
+		long[] entries = suffixQueue.drain() ;
+		int firstId = Integer.MAX_VALUE ;
+		int lastId = -1 ;
+		for(long entry : entries) {
+			firstId = Math.min(firstId, SuffixQueue.wordId(entry)) ;
+			lastId = Math.max(lastId, SuffixQueue.wordId(entry)) ;
+		}
+		
+		// Around eight ranges per thread, so that threads finishing early can steal the remaining ranges
+		int threshold = Math.max(64, entries.length / (threads * 8)) ;
+		ForkJoinPool pool = new ForkJoinPool(threads) ;
+		try {
+			pool.invoke(new SuffixTask(root, words, entries, 0, entries.length, threshold, proven, visitedSuffixes, scratch, metrics)) ;
+		}
+		finally {
+			pool.shutdown() ;
+		}
+		
+		for(int wordId=firstId ; wordId<=lastId ; wordId++) {
+			if(proven.get(wordId)) {
+				offer(wordId) ;
 			}
 		}
 	}
 	
-	// This method only returns false if provided word is shorter than the full output list's last element
-	private boolean isEligibleOutput(final String word) {
-		if(outputList.size() == outputSize && word.length() < outputList.get(outputSize-1).length()) {
-			return false ;
+	// This method offers a proven word to the output list. Only a word the list accepts is turned into a String
+	private void offer(final int wordId) {
+		if(output.accepts(words.length(wordId))) {
+			output.offer(words.word(wordId), outputSequence) ;
 		}
-		return true ;
+		outputSequence++ ;
 	}
 	
-	/* This method maintains the output list
-	 * The output (Array)list stores the words in decreasing length | list[0] | >= | list[1] |*/
-	private void addToOutputList(final String word) {
-		if(outputList.size() < outputSize) {
-			outputList.add(word) ;
-			return ;
+	// This method finds the suffixes of the suffix word[offset, length) and add them to the suffix queue
+	private void addPrefixes(final int wordId, final int offset, final int[] offsets) {
+		int start = words.start(wordId) ;
+		int count = root.getSuffixOffsets(words.chars(), start + offset, words.end(wordId), offsets) ;// This method finds all the suffixes of a given suffix
+		for(int i=0 ; i<count ; i++) {
+			suffixQueue.add(SuffixQueue.pack(wordId, offsets[i] - start)) ;	// Adding the determined suffixes to the queue
 		}
-		
-		// Stores the current word if the length of the current word is greater than ith word in the list
-		for(int i=0 ; i<outputList.size() ; i++) {
-			if(word.length() > outputList.get(i).length()) {
-				outputList.add(i, word) ;
-				break ;
-			}
+		if(Metrics.ENABLED) {
+			metrics.addExpansions(count) ;
+			metrics.updateQueuePeak(suffixQueue.size()) ;
 		}
-		
-		// Maintains the size of the output list if it gets larger than the required output size
-		if(outputList.size() > outputSize) {
-			outputList.remove(outputSize) ;
+	}
+	
+	// This method records the end of the check phase, which started at startNanos, and the number of proven words
+	private void recordCheck(final long startNanos) {
+		if(Metrics.ENABLED) {
+			metrics.endCheck(startNanos) ;
+			if(! topOnly) {							// With -topOnly, only some of the words were checked
+				metrics.addFound(proven.cardinality()) ;
+			}
 		}
 	}
 	
 	// This method prints the output list and the count of concatenated words
 	private void printOutput() {
 		root.printTrieSize() ;
-		System.out.println("Count of concatenated words = " + concatSet.size()) ;
+		if(topOnly) {
+			System.out.println("Count of concatenated words = not computed (-topOnly)") ;
+		}
+		else {
+			System.out.println("Count of concatenated words = " + proven.cardinality()) ;
+		}
 		System.out.println("Printing output list") ;
-		for(String op : outputList) {
+		for(String op : output.toList()) {
 			System.out.println(op);
 		}
 	}
 	
+	// This method runs the finder for the configuration on a CompactTrie, without printing anything
+	public static FinderResult find(final FinderConfig config) throws IOException {
+		ConcatenatedWordsFinder_PrefixTree finder = new ConcatenatedWordsFinder_PrefixTree(true, config.getThreads(), config.isTopOnly(), config.getOutputSize(), config.getTieBreak()) ;
+		return finder.run(config.getPath()) ;
+	}
+	
+	/* This method builds the Trie of the file and checks its words with the settings of the finder, without printing anything
+	 * find() and the checks of the test folder run the finder through it */
+	FinderResult run(final String path) throws IOException {
+		long millis1 = System.currentTimeMillis() ;
+		loadTrie(path) ;
+		if(topOnly) {
+			processLongestWordsOnly() ;
+		}
+		else {
+			prepareSuffixQueue() ;
+			processPrefixList() ;
+		}
+		long count = topOnly ? -1 : proven.cardinality() ;
+		return new FinderResult("PrefixTree", count, output.toList(), System.currentTimeMillis() - millis1) ;
+	}
+	
 	public static void main(String[] args) {
 		long millis1 = System.currentTimeMillis() ;
-		ConcatenatedWordsFinder_PrefixTree obj = new ConcatenatedWordsFinder_PrefixTree() ;
 		String path = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		boolean compactTrie = true ;
+		int threads = 1 ;
+		boolean topOnly = false ;
+		int outputSize = 2 ;
+		TopKCollector.TieBreak tieBreak = TopKCollector.TieBreak.LEXICOGRAPHIC ;
+		for(String arg : args) {
+			if(arg.startsWith("-trie=")) {
+				compactTrie = ! "node".equalsIgnoreCase(arg.substring("-trie=".length())) ;
+			}
+			else if(arg.startsWith("-threads=")) {
+				threads = Integer.parseInt(arg.substring("-threads=".length())) ;
+			}
+			else if(arg.equals("-topOnly")) {
+				topOnly = true ;
+			}
+			else if(arg.startsWith("-top=")) {
+				outputSize = Integer.parseInt(arg.substring("-top=".length())) ;
+			}
+			else if(arg.startsWith("-tieBreak=")) {
+				tieBreak = TopKCollector.TieBreak.valueOf(arg.substring("-tieBreak=".length()).toUpperCase()) ;
+			}
+			else {
+				path = arg ;
+			}
+		}
+		ConcatenatedWordsFinder_PrefixTree obj = new ConcatenatedWordsFinder_PrefixTree(compactTrie, threads, topOnly, outputSize, tieBreak) ;
+		obj.metrics.register() ;						// Only with -Dconcatenatedwords.metrics=true
 		
 		obj.makeTrie(path) ;							// Building the Trie
-		obj.processPrefixList() ;						// Processing the prefix list
+		long checkStart = System.nanoTime() ;
+		if(topOnly) {
+			obj.processLongestWordsOnly() ;				// Processing the prefix list of the longest words only
+		}
+		else {
+			obj.prepareSuffixQueue() ;					// Finding the suffixes of every word
+			obj.processPrefixList() ;					// Processing the prefix list
+		}
+		obj.recordCheck(checkStart) ;
 		
 		long millis2 = System.currentTimeMillis() ;
 		System.out.printf("Time taken = %d milliseconds \n", (millis2 - millis1)) ;
 		
 		obj.printOutput() ;								// Printing the outputs
+		obj.metrics.print() ;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package suffixtree;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import common.MappedWordLoader;
+
+/* This class compiles a word list into the binary dictionary format read by MappedTrie
+ * The words are inserted in a CompactTrie and its arrays are written as they are
+ * A dictionary is compiled once. Afterwards both finders accept the compiled file in place of the word list
+ * and skip reading and building the dictionary */
+public class DictionaryCompiler {
+
+	// Private constructor, the class only has static methods
+	private DictionaryCompiler() {
+	}
+
+	// This method reads the words of the text file and writes the compiled dictionary
+	public static void compile(final String wordsPath, final String dictionaryPath) throws IOException {
+		CompactTrie trie = new CompactTrie() ;
+		MappedWordLoader.load(wordsPath, (chars, offset, length) -> trie.insertWord(new String(chars, offset, length))) ;
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(dictionaryPath)), 1 << 16))) {
+			trie.write(out) ;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		String wordsPath = "E:/Java/TempWS/IBMTest/resources/words for problem.txt" ;
+		String dictionaryPath = "E:/Java/TempWS/IBMTest/resources/words for problem.dict" ;
+		if(args.length >= 2) {
+			wordsPath = args[0] ;
+			dictionaryPath = args[1] ;
+		}
+		long millis1 = System.currentTimeMillis() ;
+		compile(wordsPath, dictionaryPath) ;
+		long millis2 = System.currentTimeMillis() ;
+		MappedTrie trie = MappedTrie.open(dictionaryPath) ;
+		System.out.println("Words = " + trie.getWordCount() + ", longest word = " + trie.getMaxLength()) ;
+		trie.printTrieSize() ;
+		System.out.printf("Time taken = %d milliseconds \n", (millis2 - millis1)) ;
+	}
+}
@@ -0,0 +1,295 @@
+package suffixtree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import common.WordConsumer;
+
+/* This class is a read-only Trie over a compiled dictionary file, as written by DictionaryCompiler
+ * The file is mapped with FileChannel.map and the lookups read the arrays of the mapping directly,
+ * thus opening a dictionary creates no object per word or per node and takes the same time for any size
+ * The pages are loaded by the operating system on first use and shared by every process mapping the same file
+ *
+ * The file is a CompactTrie written in big-endian order:
+ * header: magic, version, node count, word count, longest word length, padding (6 ints)
+ * The magic starts with 0xFE and ends with 0x00, which no UTF-8 text holds, so a word list is never taken for a dictionary
+ * char[nodes] letter, padded to 4 bytes | int[nodes] firstChild | int[nodes] nextSibling, padded to 8 bytes | long[] isWord
+ * followed by the word section: int[words + 1] wordStart | char[] wordChars
+ * The word section lists the words by decreasing length, which is the word id order of the finders
+ * Word i is wordChars[wordStart[i], wordStart[i + 1]), so the finders read the words in place instead of walking the Trie
+ * The mapping is never written, so a MappedTrie can be read by many threads at the same time */
+public class MappedTrie implements Trie {
+
+	static final int MAGIC = 0xFE435700 ;				// 0xFE, "CW", 0x00
+	static final int VERSION = 3 ;						// Version 1 had no word section, versions 1 and 2 had LEGACY_MAGIC
+	private static final int LEGACY_MAGIC = 0x43574454 ;	// "CWDT", the printable magic of versions 1 and 2
+	static final int HEADER_SIZE = 24 ;					// Six ints
+	private static final int NONE = -1 ;				// Marks a missing child or sibling
+	private static final int ROOT = 0 ;
+
+	private final CharBuffer letter ;					// The node character
+	private final IntBuffer firstChild ;				// The first child of the node
+	private final IntBuffer nextSibling ;				// The next child of the node's parent
+	private final LongBuffer isWord ;					// Bit set. Denotes whether the node represents a word or not
+	private final IntBuffer wordStart ;					// The start of every word in wordChars, and the end of the last one
+	private final CharBuffer wordChars ;				// The characters of the words by decreasing length, word after word
+	private final int nodeCount ;
+	private final int wordCount ;
+	private final int maxLength ;						// Length of the longest word
+	private final long fileSize ;
+
+	// Private constructor, the instances are created by open()
+	private MappedTrie(MappedByteBuffer buffer, long fileSize) {
+		this.fileSize = fileSize ;
+		nodeCount = buffer.getInt(8) ;
+		wordCount = buffer.getInt(12) ;
+		maxLength = buffer.getInt(16) ;
+		letter = view(buffer, HEADER_SIZE).asCharBuffer() ;
+		firstChild = view(buffer, firstChildOffset(nodeCount)).asIntBuffer() ;
+		nextSibling = view(buffer, firstChildOffset(nodeCount) + 4L * nodeCount).asIntBuffer() ;
+		isWord = view(buffer, isWordOffset(nodeCount)).asLongBuffer() ;
+		IntBuffer starts = view(buffer, wordStartOffset(nodeCount)).asIntBuffer() ;
+		starts.limit(wordCount + 1) ;
+		wordStart = starts.slice() ;
+		CharBuffer chars = view(buffer, wordCharsOffset(nodeCount, wordCount)).asCharBuffer() ;
+		chars.limit(wordStart.get(wordCount)) ;
+		wordChars = chars.slice() ;
+	}
+
+	/* This method maps the compiled dictionary at the given path
+	 * It throws an IOException if the file is not a compiled dictionary of this version */
+	public static MappedTrie open(final String path) throws IOException {
+		try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long size = channel.size() ;
+			if(size > Integer.MAX_VALUE) {
+				throw new IOException("Compiled dictionary larger than 2 GB: " + path) ;
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size) ;	// Stays valid after the channel is closed
+			if(size >= HEADER_SIZE && isLegacy(buffer.getInt(0), buffer.getInt(4))) {
+				throw new IOException("Compiled dictionary of version " + buffer.getInt(4) + ", compile the word list again: " + path) ;
+			}
+			if(size < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+				throw new IOException("Not a compiled dictionary: " + path) ;
+			}
+			if(buffer.getInt(4) != VERSION) {
+				throw new IOException("Unsupported compiled dictionary version " + buffer.getInt(4) + ": " + path) ;
+			}
+			int nodes = buffer.getInt(8) ;
+			int words = buffer.getInt(12) ;
+			if(nodes <= 0 || words < 0 || wordCharsOffset(nodes, words) > size
+					|| wordCharsOffset(nodes, words) + 2L * buffer.getInt((int) wordStartOffset(nodes) + 4 * words) > size) {
+				throw new IOException("Truncated compiled dictionary: " + path) ;
+			}
+			return new MappedTrie(buffer, size) ;
+		}
+	}
+
+	/* This method returns whether the file starts with the magic number of a compiled dictionary
+	 * A file of version 1 or 2 counts as well, so open() rejects it with a clear error instead of reading it as words
+	 * Its magic is printable, but the version int after it holds zero bytes, which a word list does not */
+	public static boolean isCompiled(final String path) {
+		Path file = Paths.get(path) ;
+		if(! Files.isRegularFile(file)) {
+			return false ;
+		}
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(8) ;
+			int read = channel.read(header, 0) ;
+			if(read >= 4 && header.getInt(0) == MAGIC) {
+				return true ;
+			}
+			return read == 8 && isLegacy(header.getInt(0), header.getInt(4)) ;
+		}
+		catch(IOException e) {
+			return false ;
+		}
+	}
+
+	// Returns whether the magic and version are those of a dictionary compiled with LEGACY_MAGIC
+	private static boolean isLegacy(final int magic, final int version) {
+		return magic == LEGACY_MAGIC && (version == 1 || version == 2) ;
+	}
+
+	// Returns the file position of the firstChild array. The letters before it are padded to 4 bytes
+	static long firstChildOffset(final int nodes) {
+		return HEADER_SIZE + ((2L * nodes + 3) & ~3L) ;
+	}
+
+	// Returns the file position of the isWord bit set. The int arrays before it are padded to 8 bytes
+	static long isWordOffset(final int nodes) {
+		return (firstChildOffset(nodes) + 8L * nodes + 7) & ~7L ;
+	}
+
+	// Returns the file position of the wordStart array, after the isWord bit set
+	static long wordStartOffset(final int nodes) {
+		return isWordOffset(nodes) + 8L * ((nodes + 63) >>> 6) ;
+	}
+
+	// Returns the file position of the wordChars array, after the wordStart array
+	static long wordCharsOffset(final int nodes, final int words) {
+		return wordStartOffset(nodes) + 4L * (words + 1) ;
+	}
+
+	// This method returns a big-endian slice of the buffer starting at the given position
+	private static ByteBuffer view(final ByteBuffer buffer, final long position) {
+		ByteBuffer duplicate = buffer.duplicate() ;
+		duplicate.position((int) position) ;
+		return duplicate.slice() ;
+	}
+
+	// A compiled dictionary can not be changed
+	@Override
+	public void insertWord(String word) {
+		throw new IllegalStateException("A compiled dictionary is read-only") ;
+	}
+
+	// A compiled dictionary can not be changed
+	@Override
+	public void insertWord(CharSequence word, int from, int to) {
+		throw new IllegalStateException("A compiled dictionary is read-only") ;
+	}
+
+	// Wrapper method creating the suffix strings from the offsets found by getSuffixOffsets()
+	@Override
+	public ArrayList<String> getSuffixes(String word) {
+		int[] offsets = new int[word.length()] ;
+		int count = getSuffixOffsets(word, 0, offsets) ;
+		ArrayList<String> suffixes = new ArrayList<>(count) ;
+		for(int i=0 ; i<count ; i++) {
+			suffixes.add(word.substring(offsets[i])) ;
+		}
+		return suffixes ;
+	}
+
+	// This method walks word[from, to) from the root once and stores the start of the suffix after every prefix that is a word
+	@Override
+	public int getSuffixOffsets(CharSequence word, int from, int to, int[] offsets) {
+		int count = 0 ;
+		int node = ROOT ;
+		// The last character is not visited as a prefix equal to the word leaves an empty suffix
+		for(int i=from ; i<to - 1 ; i++) {
+			node = findChild(node, word.charAt(i)) ;
+			if(node == NONE) {
+				break ;
+			}
+			if(isWord(node)) {
+				offsets[count++] = i + 1 ;
+			}
+		}
+		return count ;
+	}
+
+	// Wrapper method for checking if the Trie contains the given word
+	@Override
+	public boolean containsWord(String word) {
+		return containsWord(word, 0, word.length()) ;
+	}
+
+	// This method iteratively finds whether the Trie contains word[from, to) or not
+	@Override
+	public boolean containsWord(CharSequence word, int from, int to) {
+		int node = ROOT ;
+		for(int i=from ; i<to ; i++) {
+			node = findChild(node, word.charAt(i)) ;
+			if(node == NONE) {
+				return false ;
+			}
+		}
+		return isWord(node) ;
+	}
+
+	// This method iteratively finds whether the Trie contains chars[from, to) or not
+	@Override
+	public boolean containsWord(char[] chars, int from, int to) {
+		int node = ROOT ;
+		for(int i=from ; i<to ; i++) {
+			node = findChild(node, chars[i]) ;
+			if(node == NONE) {
+				return false ;
+			}
+		}
+		return isWord(node) ;
+	}
+
+	// This method reads the words from the word section, by decreasing length. The Trie is not walked
+	@Override
+	public void forEachWordChars(WordConsumer consumer) {
+		char[] chars = new char[Math.max(1, maxLength)] ;
+		for(int id=0 ; id<wordCount ; id++) {
+			getWordChars(id, chars) ;
+			consumer.accept(chars, 0, getWordLength(id)) ;
+		}
+	}
+
+	// Returns the number of characters of the word with the given id (its index in the word section)
+	public int getWordLength(final int id) {
+		return wordStart.get(id + 1) - wordStart.get(id) ;
+	}
+
+	// Copies the characters of the word with the given id into chars[0, getWordLength(id)). The array must be long enough
+	public void getWordChars(final int id, final char[] chars) {
+		int start = wordStart.get(id) ;
+		int length = wordStart.get(id + 1) - start ;
+		for(int i=0 ; i<length ; i++) {
+			chars[i] = wordChars.get(start + i) ;
+		}
+	}
+
+	// Returns the word with the given id as a String
+	public String getWord(final int id) {
+		char[] chars = new char[getWordLength(id)] ;
+		getWordChars(id, chars) ;
+		return new String(chars) ;
+	}
+
+	// Returns the word section as a WordTable. The buffers are views of the mapping, nothing is copied
+	WordTable getWordTable() {
+		return new WordTable(wordChars, wordStart) ;
+	}
+
+	// The mapping is read-only already
+	@Override
+	public void freeze() {
+	}
+
+	// This method prints the number of nodes and the size of the mapped file
+	@Override
+	public void printTrieSize() {
+		System.out.println("Trie nodes = " + nodeCount + " (mapped)") ;
+		System.out.println("Trie size = " + fileSize) ;
+	}
+
+	// Getter for the number of words
+	public int getWordCount() {
+		return wordCount ;
+	}
+
+	// Getter for the length of the longest word
+	public int getMaxLength() {
+		return maxLength ;
+	}
+
+	// This method scans the children of the node for the given character
+	private int findChild(int node, char ch) {
+		int child = firstChild.get(node) ;
+		while(child != NONE && letter.get(child) != ch) {
+			child = nextSibling.get(child) ;
+		}
+		return child ;
+	}
+
+	// Checks the word bit of the node
+	private boolean isWord(int node) {
+		return (isWord.get(node >>> 6) & (1L << node)) != 0 ;
+	}
+}
@@ -0,0 +1,105 @@
+package suffixtree;
+
+import java.util.Arrays;
+
+/* This class is a priority queue of pending suffixes stored in a single long array (a binary min-heap)
+ * A suffix is the pair (wordId, offset) packed into one long: the word id in the high 32 bits, the offset in the low 32 bits
+ * The suffix itself is word[offset, length), thus no suffix string is ever created
+ * The word ids are given in decreasing word length, so the smallest entry belongs to the longest pending word
+ * and all the entries of one word are removed in increasing offset order before the next word */
+class SuffixQueue {
+
+	private long[] heap = new long[1024] ;
+	private int size = 0 ;
+
+	// This method packs a word id and an offset into a queue entry
+	static long pack(final int wordId, final int offset) {
+		return ((long) wordId << 32) | offset ;
+	}
+
+	// This method returns the word id of a queue entry
+	static int wordId(final long entry) {
+		return (int) (entry >>> 32) ;
+	}
+
+	// This method returns the offset of a queue entry
+	static int offset(final long entry) {
+		return (int) entry ;
+	}
+
+	// This method adds an entry to the queue
+	void add(final long entry) {
+		if(size == heap.length) {
+			heap = Arrays.copyOf(heap, size * 2) ;
+		}
+		int index = size++ ;
+		// Sift up: move the parents down until the entry fits
+		while(index > 0) {
+			int parent = (index - 1) >>> 1 ;
+			if(heap[parent] <= entry) {
+				break ;
+			}
+			heap[index] = heap[parent] ;
+			index = parent ;
+		}
+		heap[index] = entry ;
+	}
+
+	// This method adds many entries at once and restores the heap in linear time
+	void addAll(final long[] entries) {
+		if(size + entries.length > heap.length) {
+			heap = Arrays.copyOf(heap, Math.max(heap.length * 2, size + entries.length)) ;
+		}
+		System.arraycopy(entries, 0, heap, size, entries.length) ;
+		size += entries.length ;
+		for(int index = (size >>> 1) - 1 ; index >= 0 ; index--) {
+			siftDown(index) ;
+		}
+	}
+
+	// This method removes all the entries at once and returns them in no particular order
+	long[] drain() {
+		long[] entries = Arrays.copyOf(heap, size) ;
+		heap = new long[1024] ;
+		size = 0 ;
+		return entries ;
+	}
+
+	// This method removes and returns the smallest entry. The queue must not be empty
+	long remove() {
+		long first = heap[0] ;
+		heap[0] = heap[--size] ;
+		siftDown(0) ;
+		return first ;
+	}
+
+	// Returns whether the queue is empty
+	boolean isEmpty() {
+		return size == 0 ;
+	}
+
+	// Returns the number of entries in the queue
+	int size() {
+		return size ;
+	}
+
+	// This method moves the entry at index down while a child is smaller
+	private void siftDown(int index) {
+		long entry = heap[index] ;
+		while(true) {
+			int child = 2 * index + 1 ;
+			if(child >= size) {
+				break ;
+			}
+			if(child + 1 < size && heap[child + 1] < heap[child]) {
+				child++ ;
+			}
+			if(entry <= heap[child]) {
+				break ;
+			}
+			heap[index] = heap[child] ;
+			index = child ;
+		}
+		heap[index] = entry ;
+	}
+}
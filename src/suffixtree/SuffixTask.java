@@ -0,0 +1,115 @@
+package suffixtree;
+
+import java.util.concurrent.RecursiveAction;
+
+import common.Metrics;
+
+/* This fork-join task is the parallel counterpart of the suffix queue processing, over a range of queue entries
+ * The entries (wordId, offset) are the packed longs of SuffixQueue. A range longer than the threshold is split in two
+ * halves that idle threads can steal, a shorter range is processed by the thread running it
+ * For every entry, the suffix word[offset, length) and the suffixes after its prefixes are searched depth-first
+ * The words are ranges of the WordTable, thus the search works on positions of the table and creates no String
+ * on the stack of the worker thread. If one of them is a word, the base word is proven and its bit is set
+ * The bit of the word is shared by all its entries. Once it is set, the remaining entries of the word are skipped
+ * A suffix can be reached through many splits of its prefix, so every character of the WordTable has a bit in visited as well
+ * The bit is claimed when the suffix is pushed, thus a suffix is searched once and the stack never holds more
+ * offsets than the word has characters (the sequential queue gets the same effect by skipping a repeated entry)
+ * No object is created per entry or per suffix: the tasks only exist per range, and the offsets and the stack
+ * are arrays of the worker thread (Scratch), reused by all the ranges it runs
+ * The Trie must be frozen, as it is read by many threads at the same time
+ * With Metrics.ENABLED, every range adds its lookups and its expansions to the shared Metrics */
+class SuffixTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L ;
+
+	private final Trie root ;							// The frozen Trie
+	private final WordTable words ;						// All the words, indexed by word id
+	private final long[] entries ;						// The queue entries, packed by SuffixQueue.pack()
+	private final int from ;							// First index of the range (inclusive)
+	private final int to ;								// Last index of the range (exclusive)
+	private final int threshold ;						// Ranges of at most this many entries are processed without splitting
+	private final AtomicBitSet proven ;					// Proven concatenated words, indexed by word id
+	private final AtomicBitSet visited ;				// Suffixes already searched, indexed by their position in the WordTable
+	private final ThreadLocal<Scratch> scratch ;		// The arrays of every worker thread
+	private final Metrics metrics ;						// Receives the counters of the task
+
+	// Default access constructor for package only access
+	SuffixTask(Trie root, WordTable words, long[] entries, int from, int to, int threshold, AtomicBitSet proven, AtomicBitSet visited, ThreadLocal<Scratch> scratch, Metrics metrics) {
+		this.root = root ;
+		this.words = words ;
+		this.entries = entries ;
+		this.from = from ;
+		this.to = to ;
+		this.threshold = threshold ;
+		this.proven = proven ;
+		this.visited = visited ;
+		this.scratch = scratch ;
+		this.metrics = metrics ;
+	}
+
+	@Override
+	protected void compute() {
+		if(to - from > threshold) {
+			int middle = (from + to) >>> 1 ;
+			invokeAll(new SuffixTask(root, words, entries, from, middle, threshold, proven, visited, scratch, metrics),
+					new SuffixTask(root, words, entries, middle, to, threshold, proven, visited, scratch, metrics)) ;
+			return ;
+		}
+		Scratch buffers = scratch.get() ;
+		long probes = 0 ;								// Counters of the range, only used with Metrics.ENABLED
+		long hits = 0 ;
+		long expansions = 0 ;
+		CharSequence chars = words.chars() ;
+		for(int i=from ; i<to ; i++) {
+			int wordId = SuffixQueue.wordId(entries[i]) ;
+			int offset = words.start(wordId) + SuffixQueue.offset(entries[i]) ;	// The suffix start in the WordTable
+			// The word was proven by another entry, or the suffix was reached by another entry
+			if(proven.get(wordId) || ! visited.set(offset)) {
+				continue ;
+			}
+			int end = words.end(wordId) ;
+			int[] stack = buffers.stack ;
+			int[] offsets = buffers.offsets ;
+			stack[0] = offset ;
+			int top = 1 ;
+			while(top > 0 && ! proven.get(wordId)) {
+				int start = stack[--top] ;
+				if(Metrics.ENABLED) {
+					probes++ ;
+				}
+				if(root.containsWord(chars, start, end)) {
+					if(Metrics.ENABLED) {
+						hits++ ;
+					}
+					proven.set(wordId) ;				// Skips the remaining entries of the word
+					break ;
+				}
+				int count = root.getSuffixOffsets(chars, start, end, offsets) ;
+				if(Metrics.ENABLED) {
+					expansions += count ;
+				}
+				for(int j=0 ; j<count ; j++) {
+					if(visited.set(offsets[j])) {
+						stack[top++] = offsets[j] ;
+					}
+				}
+			}
+		}
+		if(Metrics.ENABLED) {
+			metrics.addProbes(probes, hits) ;
+			metrics.addExpansions(expansions) ;
+		}
+	}
+
+	/* This class holds the arrays of one worker thread. Both have room for the longest word:
+	 * getSuffixOffsets() stores at most one offset per character, and every offset is pushed at most once */
+	static class Scratch {
+		final int[] offsets ;							// The suffixes found by the last getSuffixOffsets()
+		final int[] stack ;								// The suffixes left to search for the current entry
+
+		Scratch(int maxLength) {
+			offsets = new int[maxLength] ;
+			stack = new int[maxLength] ;
+		}
+	}
+}
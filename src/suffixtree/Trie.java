@@ -0,0 +1,60 @@
+package suffixtree;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import common.WordConsumer;
+
+/* This interface contains the methods ConcatenatedWordsFinder_PrefixTree needs from a prefix tree
+ * TrieNode stores the tree as linked node objects, CompactTrie stores it in parallel primitive arrays
+ * MappedTrie reads a compiled CompactTrie from a memory-mapped file. It is public, so the DP engine can query it too
+ * The CharSequence and char[] methods work on a range of the sequence (a String, a CharBuffer over a char[] ...)
+ * They walk the tree iteratively and create no object, thus long words neither copy nor recurse */
+public interface Trie {
+
+	// Inserts the word in the Trie
+	void insertWord(String word) ;
+
+	// Inserts word[from, to) in the Trie
+	void insertWord(CharSequence word, int from, int to) ;
+
+	/* Returns the remaining suffix for every proper prefix of the word that is a word of the Trie
+	 * For example, if the Trie contains cat and cats, the suffixes of catsdog are sdog and dog */
+	ArrayList<String> getSuffixes(String word) ;
+
+	/* Finds the suffixes of word[from, length) without creating them
+	 * The start index of every suffix is stored in offsets, in increasing order, and the number of suffixes is returned
+	 * The offsets array must have room for (length - from) entries */
+	default int getSuffixOffsets(CharSequence word, int from, int[] offsets) {
+		return getSuffixOffsets(word, from, word.length(), offsets) ;
+	}
+
+	/* Finds the suffixes of word[from, to) the same way. The offsets are indexes of the sequence, not of the range
+	 * The sequence can hold many words, for example the word section of a compiled dictionary */
+	int getSuffixOffsets(CharSequence word, int from, int to, int[] offsets) ;
+
+	// Checks whether the Trie contains the given word
+	boolean containsWord(String word) ;
+
+	// Checks whether the Trie contains word[from, to)
+	boolean containsWord(CharSequence word, int from, int to) ;
+
+	// Checks whether the Trie contains chars[from, to)
+	boolean containsWord(char[] chars, int from, int to) ;
+
+	/* Hands every word of the Trie to the consumer once, as a range of a buffer reused for the next word. No String is created
+	 * The order of the words is not specified, but a frozen Trie gives the same order on every call */
+	void forEachWordChars(WordConsumer consumer) ;
+
+	// Hands every word of the Trie to the consumer once as a String, in the order of forEachWordChars()
+	default void forEachWord(Consumer<String> consumer) {
+		forEachWordChars((chars, offset, length) -> consumer.accept(new String(chars, offset, length))) ;
+	}
+
+	// Prints the size of the Trie
+	void printTrieSize() ;
+
+	/* Makes the Trie read-only. Inserting a word afterwards throws an IllegalStateException
+	 * A frozen Trie can be read by many threads at the same time */
+	void freeze() ;
+}
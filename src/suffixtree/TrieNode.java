@@ -1,132 +1,182 @@
 package suffixtree;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
+import common.WordConsumer;
+
 /* This class contains the required feature and methods for storing Trie
  * Stores the character at the node */
-class TrieNode {
+class TrieNode implements Trie {
 
-	@SuppressWarnings("unused")
 	private final char letter ;								// The node character
 	private HashMap<Character, TrieNode> children ;			// Map of children for constant time access
 	private boolean isWord ;								// Denotes whether the node represents a word or not
-	private static int trieBytes = 0 ;						// Only used for calculating the size of the trie
+	private boolean frozen ;								// Only set on the root. Denotes whether the Trie is read-only
 	
 	// Default access constructor for package only access
 	TrieNode(char ch) {
 		this.letter = ch ;
 	}
 	
-	// Wrapper method for adding a word. Calls the recursive insertWord() method
-	void insertWord(String word) {
-		StringBuffer buf = new StringBuffer(word) ;
-		insertWord(buf) ;
+	// Wrapper method for adding a word. Calls the iterative insertWord() method
+	@Override
+	public void insertWord(String word) {
+		insertWord(word, 0, word.length()) ;
 	}
 	
-	/* This recursive method creates the required nodes in the Trie to insert a word */
-	private void insertWord(StringBuffer word) {
-		// Base condition: If the word becomes empty, mark the node as a complete word and return
-		if(word == null || word.length() <= 0) {
-			isWord = true ;
-			return ;
-		}
-		
-		if(children == null) {
-			children = new HashMap<>() ;
-		}
-		
-		char curr = word.charAt(0) ;						// The zeroth character will be used to find the child
-		word.deleteCharAt(0) ;								// The remaining string will be passed to the child
-		
-		TrieNode child ;
-		
-		if(children.containsKey(curr)) {					// If the path already exists
-			child = children.get(curr) ;
+	/* This method walks down from the root and creates the missing nodes for word[from, to) */
+	@Override
+	public void insertWord(CharSequence word, int from, int to) {
+		if(frozen) {
+			throw new IllegalStateException("The Trie is frozen") ;
 		}
-		else {												// If the path does not exist
-			child = new TrieNode(curr) ;					// Creating a new node
-			children.put(curr, child) ;
+		TrieNode node = this ;
+		for(int i=from ; i<to ; i++) {
+			char curr = word.charAt(i) ;
+			if(node.children == null) {
+				node.children = new HashMap<>() ;
+			}
+			TrieNode child = node.children.get(curr) ;
+			if(child == null) {								// If the path does not exist
+				child = new TrieNode(curr) ;				// Creating a new node
+				node.children.put(curr, child) ;
+			}
+			node = child ;
 		}
-		// Calling the child's insert word method and passing the remaining string
-		child.insertWord(word) ;
+		node.isWord = true ;								// The last node marks the complete word
 	}
 	
-	/* Wrapper method for getting the suffix list. Executes after Trie building */
-	ArrayList<String> getSuffixes(String word) {
-		ArrayList<String> suffixes = new ArrayList<>() ;
-		char curr = word.charAt(0) ;
-		TrieNode child = children.get(curr) ;				// The child node will be present in the trie
-		child.getSuffixes(word, suffixes) ;					// Calling the recursive getSuffixes method
+	/* Wrapper method for getting the suffix list. Executes after Trie building
+	 * Creates the suffix strings from the offsets found by getSuffixOffsets() */
+	@Override
+	public ArrayList<String> getSuffixes(String word) {
+		int[] offsets = new int[word.length()] ;
+		int count = getSuffixOffsets(word, 0, offsets) ;
+		ArrayList<String> suffixes = new ArrayList<>(count) ;
+		for(int i=0 ; i<count ; i++) {
+			suffixes.add(word.substring(offsets[i])) ;
+		}
 		return suffixes ;
 	}
 	
-	/* This recursive method finds all the suffixes of a word and insert it into the suffix list */
-	private void getSuffixes(String word, ArrayList<String> suffixes) {
-		word = word.substring(1) ;							// Removing the first character
-		
-		// Base condition: Skips and exits if word length is zero
-		if(word.length() > 0) {
-			// If the word is valid, we add it to the list
-			if(isWord) {
-				suffixes.add(word) ;
+	/* This method walks word[from, to) down from the root once
+	 * For every prefix that is a word and leaves a non-empty suffix, it stores the start of the suffix */
+	@Override
+	public int getSuffixOffsets(CharSequence word, int from, int to, int[] offsets) {
+		int count = 0 ;
+		TrieNode node = this ;
+		// The last character is not walked as a prefix equal to the remaining word leaves no suffix
+		for(int i=from ; i<to - 1 ; i++) {
+			node = node.child(word.charAt(i)) ;
+			if(node == null) {
+				break ;
 			}
-			char curr = word.charAt(0) ;					// Using the first character to find the child
-			
-			// Checking if a valid child exist for the next character
-			if(children != null && children.containsKey(curr)) {
-				TrieNode child = children.get(curr) ;
-				// Calling the child's getSuffixes method and passing the remaining string
-				child.getSuffixes(word, suffixes) ;
+			if(node.isWord) {
+				offsets[count++] = i + 1 ;
 			}
 		}
+		return count ;
 	}
 	
 	/* Wrapper method for checking if the Trie contains the given word */
-	boolean containsWord(String word) {
-		StringBuffer buffer = new StringBuffer(word) ;
-		return containsWord(buffer) ;						// Calling the recursive containsWord method
+	@Override
+	public boolean containsWord(String word) {
+		return containsWord(word, 0, word.length()) ;
 	}
 	
-	/* This method recursively finds whether the Trie contains the provided word or not
-	 * Using string buffer to avoid creating string objects */
-	private boolean containsWord(StringBuffer word) {
-		
-		// Base condition: Empty word means that no more children. Hence, we can simply return this isWord flag
-		if(word.length() == 0) {
-			return isWord ;
+	/* This method iteratively finds whether the Trie contains word[from, to) or not */
+	@Override
+	public boolean containsWord(CharSequence word, int from, int to) {
+		TrieNode node = this ;
+		for(int i=from ; i<to && node != null ; i++) {
+			node = node.child(word.charAt(i)) ;
 		}
-		char ch = word.charAt(0) ;
-		word.deleteCharAt(0) ;								// Fetch the first character of the word
-		
-		// Checks for the child marked by the next character
-		if(children != null && children.containsKey(ch)) {
-			TrieNode child = children.get(ch) ;
-			// Recursively call child's containsWord() method with the remaining string
-			return child.containsWord(word) ;
+		// If no child was found on the way, the word is not in the Trie
+		return node != null && node.isWord ;
+	}
+	
+	/* This method iteratively finds whether the Trie contains chars[from, to) or not */
+	@Override
+	public boolean containsWord(char[] chars, int from, int to) {
+		TrieNode node = this ;
+		for(int i=from ; i<to && node != null ; i++) {
+			node = node.child(chars[i]) ;
 		}
-		// If no child was found, return false
-		return false ;
+		return node != null && node.isWord ;
 	}
 	
-	// This method calls the calculateTrieSize() method and prints the Trie size
-	void printTrieSize() {
-		calculateTrieSize() ;
-		System.out.println("Trie size = " + trieBytes) ;
+	// Returns the child marked by the character, or null if there is none
+	private TrieNode child(char ch) {
+		return (children == null) ? null : children.get(ch) ;
 	}
 	
-	// This method recursively calculates the trie size using the Depth-first traversal
-	private void calculateTrieSize() {
-		trieBytes += 2 ;									// Each node stores a two byte character
-		// Base condition: Returns if there are no children
-		if(children == null) {
-			return ;
+	/* This method visits the words with an iterative depth-first traversal, as CompactTrie does
+	 * The stack holds the nodes left to visit with their depth, the path holds the characters from the root
+	 * Thus a long word needs no stack frame per character. The root has the depth -1, as its dummy character is not a part of any word */
+	@Override
+	public void forEachWordChars(WordConsumer consumer) {
+		TrieNode[] stack = new TrieNode[64] ;
+		int[] depths = new int[64] ;
+		char[] path = new char[64] ;
+		int top = 0 ;
+		stack[top] = this ;
+		depths[top++] = -1 ;
+		while(top > 0) {
+			TrieNode node = stack[--top] ;
+			stack[top] = null ;								// The visited node is not kept reachable by the stack
+			int depth = depths[top] ;
+			if(depth >= 0) {
+				if(depth == path.length) {
+					path = Arrays.copyOf(path, depth * 2) ;
+				}
+				path[depth] = node.letter ;
+				if(node.isWord) {
+					consumer.accept(path, 0, depth + 1) ;
+				}
+			}
+			if(node.children != null) {
+				for(TrieNode child : node.children.values()) {
+					if(top == stack.length) {
+						stack = Arrays.copyOf(stack, top * 2) ;
+						depths = Arrays.copyOf(depths, top * 2) ;
+					}
+					stack[top] = child ;
+					depths[top++] = depth + 1 ;
+				}
+			}
 		}
-		
-		// Depth first traversal
-		for(char curr : children.keySet()) {
-			TrieNode child = children.get(curr) ;
-			child.calculateTrieSize() ;
+	}
+	
+	// The wrapper methods are only called on the root, thus the flag of the root guards the whole Trie
+	@Override
+	public void freeze() {
+		frozen = true ;
+	}
+	
+	// This method calls the calculateTrieSize() method and prints the Trie size
+	@Override
+	public void printTrieSize() {
+		System.out.println("Trie size = " + calculateTrieSize()) ;
+	}
+	
+	/* This method calculates the trie size using an iterative depth-first traversal with an explicit stack
+	 * The size is returned rather than added to a static field, so every call starts from zero */
+	private long calculateTrieSize() {
+		long trieBytes = 0 ;
+		ArrayDeque<TrieNode> stack = new ArrayDeque<>() ;
+		stack.push(this) ;
+		while(! stack.isEmpty()) {
+			TrieNode node = stack.pop() ;
+			trieBytes += 2 ;								// Each node stores a two byte character
+			if(node.children != null) {
+				for(TrieNode child : node.children.values()) {
+					stack.push(child) ;
+				}
+			}
 		}
+		return trieBytes ;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package suffixtree;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import common.WordConsumer;
+
+/* This class collects the words of one byte range of a parallel load in file order
+ * The words are appended to one char array with their ends, so a shard holds no String per word */
+class WordList implements WordConsumer {
+
+	private char[] chars = new char[1024] ;				// The characters of the words, word after word
+	private int[] ends = new int[64] ;					// The end of every word in chars
+	private int size = 0 ;								// Number of words
+
+	@Override
+	public void accept(char[] word, int offset, int length) {
+		int start = (size > 0) ? ends[size - 1] : 0 ;
+		int end = WordTable.checkedEnd(start, length) ;		// The shard has the same limit as the table it is numbered into
+		if(end > chars.length) {
+			chars = Arrays.copyOf(chars, (int) Math.max(end, Math.min(Integer.MAX_VALUE - 8, 2L * chars.length))) ;
+		}
+		System.arraycopy(word, offset, chars, start, length) ;
+		if(size == ends.length) {
+			ends = Arrays.copyOf(ends, size * 2) ;
+		}
+		ends[size++] = end ;
+	}
+
+	// This method inserts the words in the Trie in the order they were read. The words are ranges of one CharSequence
+	void insertInto(final Trie trie) {
+		CharSequence sequence = CharBuffer.wrap(chars) ;
+		int start = 0 ;
+		for(int i=0 ; i<size ; i++) {
+			trie.insertWord(sequence, start, ends[i]) ;
+			start = ends[i] ;
+		}
+	}
+}
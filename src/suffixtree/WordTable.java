@@ -0,0 +1,105 @@
+package suffixtree;
+
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import common.WordConsumer;
+
+/* This class holds the words of a Trie by id, from the longest word down, as one sequence of characters
+ * The word with the id i is chars[start(i), start(i + 1)). Equal lengths keep the order of Trie.forEachWordChars()
+ * The Trie methods take a range of a CharSequence, so a word is looked up in place and no String is created
+ * For a compiled dictionary, both buffers are views of the word section of the mapping and nothing is copied
+ * Otherwise the words of the Trie are copied from two traversals into one char array, without a String per word
+ * A table is one sequence with int positions, thus it holds at most Integer.MAX_VALUE characters. A larger input
+ * is rejected by checkedEnd() before the array is allocated (a compiled dictionary is smaller, as its file is at most 2 GB) */
+class WordTable {
+
+	private final CharBuffer chars ;					// The characters of all the words, word after word
+	private final IntBuffer starts ;					// The start of every word in chars, and the end of the last one
+
+	// Default access constructor for package only access
+	WordTable(CharBuffer chars, IntBuffer starts) {
+		this.chars = chars ;
+		this.starts = starts ;
+	}
+
+	/* This method lists the words of the frozen Trie by decreasing length. A MappedTrie has them listed already
+	 * It is a counting sort: the first traversal counts the words of every length, which gives the first id
+	 * and the start of every length in the table. The second traversal copies every word to the next id of its length */
+	static WordTable of(final Trie trie) {
+		if(trie instanceof MappedTrie) {
+			return ((MappedTrie) trie).getWordTable() ;
+		}
+		LengthCounter counter = new LengthCounter() ;
+		trie.forEachWordChars(counter) ;
+		int[] counts = counter.counts ;
+		int[] nextId = new int[counts.length] ;		// The id of the next word of every length
+		int[] starts = new int[counter.words + 1] ;
+		int id = 0 ;
+		for(int length = counts.length - 1 ; length > 0 ; length--) {
+			nextId[length] = id ;
+			for(int i=0 ; i<counts[length] ; i++, id++) {
+				starts[id + 1] = checkedEnd(starts[id], length) ;
+			}
+		}
+		char[] chars = new char[starts[id]] ;
+		trie.forEachWordChars((word, offset, length) -> System.arraycopy(word, offset, chars, starts[nextId[length]++], length)) ;
+		return new WordTable(CharBuffer.wrap(chars), IntBuffer.wrap(starts)) ;
+	}
+
+	// This method returns the end of a word of the given length appended at start, or rejects a table of more than Integer.MAX_VALUE characters
+	static int checkedEnd(final int start, final int length) {
+		try {
+			return Math.addExact(start, length) ;
+		}
+		catch(ArithmeticException e) {
+			throw new IllegalArgumentException("The words have more than " + Integer.MAX_VALUE + " characters, more than one WordTable holds", e) ;
+		}
+	}
+
+	// Returns the number of words
+	int size() {
+		return starts.limit() - 1 ;
+	}
+
+	// Returns the index of the first character of the word in chars()
+	int start(final int id) {
+		return starts.get(id) ;
+	}
+
+	// Returns the index after the last character of the word in chars()
+	int end(final int id) {
+		return starts.get(id + 1) ;
+	}
+
+	// Returns the number of characters of the word
+	int length(final int id) {
+		return starts.get(id + 1) - starts.get(id) ;
+	}
+
+	// Returns the characters of all the words. The buffer is only read, thus it is shared by every thread
+	CharSequence chars() {
+		return chars ;
+	}
+
+	// Returns the word as a String, for the output list
+	String word(final int id) {
+		return chars.subSequence(start(id), end(id)).toString() ;
+	}
+
+	// This class counts the words of every length in the first traversal of of()
+	private static class LengthCounter implements WordConsumer {
+		int[] counts = new int[64] ;						// counts[length] is the number of words of the length
+		int words = 0 ;										// Number of words
+
+		@Override
+		public void accept(char[] chars, int offset, int length) {
+			if(length >= counts.length) {
+				counts = Arrays.copyOf(counts, Math.max(length + 1, counts.length * 2)) ;
+			}
+			counts[length]++ ;
+			words++ ;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package aho_corasick;
+
+import java.io.IOException;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import common.FinderConfig;
+import common.TopKCollector;
+
+/* This class checks the Aho-Corasick engine against the brute-force oracle on the generated word lists
+ * The finder runs on the word list and the compiled dictionary, on one and three threads, with and without -topOnly */
+public class AhoCorasickCheck {
+
+	private static final int OUTPUT_SIZE = 5 ;
+
+	public static void main(String[] args) throws IOException {
+		for(CheckInput list : CheckInput.all()) {
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			for(String input : new String[] { path, dictionary }) {
+				String kind = input.equals(dictionary) ? "compiled" : "list" ;
+				for(int threads=1 ; threads<=3 ; threads+=2) {
+					for(int topOnly=0 ; topOnly<2 ; topOnly++) {
+						FinderConfig config = new FinderConfig(input) ;
+						config.setOutputSize(OUTPUT_SIZE) ;
+						config.setThreads(threads) ;
+						config.setTopOnly(topOnly == 1) ;
+						String name = "AhoCorasick " + kind + " threads=" + threads + ((topOnly == 1) ? " topOnly" : "") ;
+						Checks.result(name, oracle, OUTPUT_SIZE, topOnly == 1, ConcatenatedWordsFinder_AhoCorasick.find(config)) ;
+						
+						config.setTieBreak(TopKCollector.TieBreak.ARRIVAL) ;
+						Checks.arrivalResult(name + " arrival", oracle, OUTPUT_SIZE, ConcatenatedWordsFinder_AhoCorasick.find(config)) ;
+					}
+				}
+			}
+		}
+		Checks.done("AhoCorasickCheck") ;
+	}
+}
@@ -0,0 +1,62 @@
+package common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import suffixtree.DictionaryCompiler;
+
+/* This class is one input of the checks: a generated word list with its oracle, the list written to a file
+ * and the same list compiled into a dictionary
+ * The inputs of WordLists.all() are built once per JVM, so the checks run by one AllChecks share them */
+public class CheckInput {
+
+	private static List<CheckInput> all ;				// The inputs of WordLists.all(), built by the first call of all()
+
+	private final List<String> words ;
+	private final ConcatenationOracle oracle ;
+	private final String path ;							// The words written by WordLists.write()
+	private final String dictionary ;					// The words compiled by DictionaryCompiler
+
+	// Private constructor, the inputs are created by all()
+	private CheckInput(List<String> words) throws IOException {
+		this.words = words ;
+		oracle = new ConcatenationOracle(words) ;
+		path = WordLists.write(words).toString() ;
+		dictionary = WordLists.tempPath(".dict").toString() ;
+		DictionaryCompiler.compile(path, dictionary) ;
+	}
+
+	// This method returns an input for every list of WordLists.all()
+	public static synchronized List<CheckInput> all() throws IOException {
+		if(all == null) {
+			List<CheckInput> inputs = new ArrayList<>() ;
+			for(List<String> words : WordLists.all()) {
+				inputs.add(new CheckInput(words)) ;
+			}
+			all = Collections.unmodifiableList(inputs) ;
+		}
+		return all ;
+	}
+
+	// Getter for the words, in the order of the file
+	public List<String> getWords() {
+		return words ;
+	}
+
+	// Getter for the oracle of the words
+	public ConcatenationOracle getOracle() {
+		return oracle ;
+	}
+
+	// Getter for the path of the word list
+	public String getPath() {
+		return path ;
+	}
+
+	// Getter for the path of the compiled dictionary
+	public String getDictionary() {
+		return dictionary ;
+	}
+}
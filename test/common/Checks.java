@@ -0,0 +1,63 @@
+package common;
+
+import java.util.List;
+import java.util.Objects;
+
+/* This class holds the assertions of the main-driven checks
+ * A failed assertion throws an AssertionError naming the check, so the run stops at the first difference
+ * The number of assertions passed by each check is printed by done(), the total of the JVM by getPassed() */
+public class Checks {
+
+	private static int passed = 0 ;					// Number of assertions passed in this JVM
+	private static int reported = 0 ;				// Value of passed at the last done()
+
+	// Private constructor, the class only has static methods
+	private Checks() {
+	}
+
+	// This method fails the check if the values are not equal
+	public static void equal(String name, Object expected, Object actual) {
+		if(! Objects.equals(expected, actual)) {
+			throw new AssertionError(name + ": expected " + expected + ", got " + actual) ;
+		}
+		passed++ ;
+	}
+
+	// This method fails the check if the condition is false
+	public static void isTrue(String name, boolean condition) {
+		if(! condition) {
+			throw new AssertionError(name) ;
+		}
+		passed++ ;
+	}
+
+	/* This method compares the result of a finder with the oracle
+	 * The count is -1 for a -topOnly run. The longest words use the lexicographic tie-break */
+	public static void result(String name, ConcatenationOracle oracle, int outputSize, boolean topOnly, FinderResult result) {
+		equal(name + " count", topOnly ? -1L : oracle.getCount(), result.getCount()) ;
+		equal(name + " longest", oracle.getLongest(outputSize), result.getLongestWords()) ;
+	}
+
+	/* This method checks the result of a finder with the arrival tie-break, which depends on the order of the engine
+	 * The lengths must be those of the oracle, and every word must be concatenated */
+	public static void arrivalResult(String name, ConcatenationOracle oracle, int outputSize, FinderResult result) {
+		List<String> expected = oracle.getLongest(outputSize) ;
+		List<String> actual = result.getLongestWords() ;
+		equal(name + " size", expected.size(), actual.size()) ;
+		for(int i=0 ; i<actual.size() ; i++) {
+			equal(name + " length " + i, expected.get(i).length(), actual.get(i).length()) ;
+			isTrue(name + " concatenated " + actual.get(i), oracle.isConcatenated(actual.get(i))) ;
+		}
+	}
+
+	// This method prints the number of assertions passed since the last call, i.e. by the check that just ended
+	public static void done(String name) {
+		System.out.println(name + ": " + (passed - reported) + " assertions passed") ;
+		reported = passed ;
+	}
+
+	// Getter for the number of assertions passed in this JVM
+	public static int getPassed() {
+		return passed ;
+	}
+}
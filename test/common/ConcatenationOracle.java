@@ -0,0 +1,100 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/* This class is the brute-force reference of the checks
+ * A word is concatenated if it splits into at least two words of the list. The splits are counted over substrings
+ * of the word looked up in a HashSet, which shares no code with the engines
+ * The longest words are sorted by decreasing length, then lexicographically, which is the default tie-break */
+public class ConcatenationOracle {
+
+	private static final Comparator<String> LONGEST_FIRST = Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()) ;
+
+	private final HashSet<String> words ;				// The unique words of the list
+	private final int maxLength ;						// Length of the longest word. No longer substring is looked up
+	private final List<String> concatenated ;			// The concatenated words, longest first
+
+	public ConcatenationOracle(Collection<String> list) {
+		words = new HashSet<>(list) ;
+		int longest = 0 ;
+		for(String word : words) {
+			longest = Math.max(longest, word.length()) ;
+		}
+		maxLength = longest ;
+		concatenated = new ArrayList<>() ;
+		for(String word : words) {
+			if(isConcatenated(word)) {
+				concatenated.add(word) ;
+			}
+		}
+		concatenated.sort(LONGEST_FIRST) ;
+	}
+
+	// Returns whether the word splits into at least two words of the list
+	public boolean isConcatenated(String word) {
+		return countSplits(word) > 0 ;
+	}
+
+	/* This method counts the splits of the word into at least two words of the list
+	 * splits[i] is the number of splits of the first i characters. The count saturates at Long.MAX_VALUE */
+	public long countSplits(String word) {
+		int n = word.length() ;
+		long[] splits = new long[n + 1] ;
+		splits[0] = 1 ;
+		for(int end=1 ; end<=n ; end++) {
+			for(int start = Math.max(0, end - maxLength) ; start<end ; start++) {
+				if(splits[start] > 0 && ! (start == 0 && end == n) && words.contains(word.substring(start, end))) {
+					long sum = splits[end] + splits[start] ;
+					splits[end] = (sum < 0) ? Long.MAX_VALUE : sum ;
+				}
+			}
+		}
+		return splits[n] ;
+	}
+
+	// This method returns the fewest words of the list the word splits into, at least two, or zero if it does not split
+	public int minParts(String word) {
+		int n = word.length() ;
+		int[] parts = new int[n + 1] ;
+		for(int end=1 ; end<=n ; end++) {
+			for(int start = Math.max(0, end - maxLength) ; start<end ; start++) {
+				if((start == 0 || parts[start] > 0) && ! (start == 0 && end == n) && words.contains(word.substring(start, end))) {
+					int count = parts[start] + 1 ;
+					if(parts[end] == 0 || count < parts[end]) {
+						parts[end] = count ;
+					}
+				}
+			}
+		}
+		return parts[n] ;
+	}
+
+	// Returns whether the word is in the list
+	public boolean isWord(String word) {
+		return words.contains(word) ;
+	}
+
+	// Returns the number of unique words of the list
+	public int getWordCount() {
+		return words.size() ;
+	}
+
+	// Returns the number of concatenated words of the list, each unique word once
+	public long getCount() {
+		return concatenated.size() ;
+	}
+
+	// Returns the given number of longest concatenated words, with the lexicographic tie-break
+	public List<String> getLongest(int count) {
+		return new ArrayList<>(concatenated.subList(0, Math.min(count, concatenated.size()))) ;
+	}
+
+	// Returns the concatenated words, longest first
+	public List<String> getConcatenated() {
+		return concatenated ;
+	}
+}
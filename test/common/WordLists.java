@@ -0,0 +1,122 @@
+package common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/* This class generates the word lists of the checks
+ * A list has base words, compounds of 2 to 4 base words, compounds broken by an extra character and repeated words,
+ * in a shuffled order. The seeds are fixed, so a failing list is generated again by the next run
+ * The lists cover the cases the engines treat apart: a large and a two-letter alphabet, characters outside Latin-1,
+ * words longer than the 64 characters of the scratch buffers, and words of one repeated letter with many splits */
+public class WordLists {
+
+	// Private constructor, the class only has static methods
+	private WordLists() {
+	}
+
+	// This method returns the word lists every engine is checked against
+	public static List<List<String>> all() {
+		List<List<String>> lists = new ArrayList<>() ;
+		lists.add(generate(1L, "abcdefghijklmnopqrstuvwxyz", 60, 1, 6, 300)) ;
+		lists.add(generate(2L, "ab", 40, 1, 4, 200)) ;
+		lists.add(generate(3L, "a\u00e9\u0436\u03bb\u4e2d", 50, 1, 5, 250)) ;		// Latin-1 and wider characters
+		lists.add(generate(4L, "acgt", 30, 20, 40, 150)) ;					// Compounds of more than 64 characters
+		lists.add(repeatedLetter(70)) ;
+		return lists ;
+	}
+
+	/* This method generates baseCount base words of minLength to maxLength characters of the alphabet
+	 * and the given number of compounds. Half of the compounds get an extra character, which usually breaks the split */
+	public static List<String> generate(long seed, String alphabet, int baseCount, int minLength, int maxLength, int compounds) {
+		Random random = new Random(seed) ;
+		List<String> bases = new ArrayList<>() ;
+		for(int i=0 ; i<baseCount ; i++) {
+			bases.add(randomWord(random, alphabet, minLength + random.nextInt(maxLength - minLength + 1))) ;
+		}
+		List<String> words = new ArrayList<>(bases) ;
+		StringBuilder compound = new StringBuilder() ;
+		for(int i=0 ; i<compounds ; i++) {
+			compound.setLength(0) ;
+			int parts = 2 + random.nextInt(3) ;
+			for(int j=0 ; j<parts ; j++) {
+				compound.append(bases.get(random.nextInt(bases.size()))) ;
+			}
+			if(random.nextBoolean()) {
+				compound.insert(random.nextInt(compound.length() + 1), alphabet.charAt(random.nextInt(alphabet.length()))) ;
+			}
+			words.add(compound.toString()) ;
+		}
+		for(int i=0 ; i<compounds / 10 ; i++) {
+			words.add(words.get(random.nextInt(words.size()))) ;	// Repeated words are counted once
+		}
+		Collections.shuffle(words, random) ;
+		return words ;
+	}
+
+	// This method returns the words a, aa, aaa ... of up to the given length, from the longest down
+	public static List<String> repeatedLetter(int maxLength) {
+		char[] chars = new char[maxLength] ;
+		Arrays.fill(chars, 'a') ;
+		List<String> words = new ArrayList<>() ;
+		for(int length = maxLength ; length > 0 ; length--) {
+			words.add(new String(chars, 0, length)) ;
+		}
+		return words ;
+	}
+
+	/* This method returns the words of the given number of "Aa" and "BB" blocks, every combination once, with both blocks, shuffled
+	 * "Aa" and "BB" have the same String.hashCode(), thus all the compounds collide in one HashMap bin, which becomes a tree
+	 * The iteration order of a HashSet of these words depends on the order they were added in */
+	public static List<String> equalHashes(long seed, int blocks) {
+		List<String> words = new ArrayList<>(Arrays.asList("Aa", "BB")) ;
+		StringBuilder compound = new StringBuilder() ;
+		for(int bits=0 ; bits<(1 << blocks) ; bits++) {
+			compound.setLength(0) ;
+			for(int i=0 ; i<blocks ; i++) {
+				compound.append(((bits >> i) & 1) == 0 ? "Aa" : "BB") ;
+			}
+			words.add(compound.toString()) ;
+		}
+		Collections.shuffle(words, new Random(seed)) ;
+		return words ;
+	}
+
+	/* This method writes the words to a temporary file in UTF-8, deleted when the JVM exits
+	 * The separators vary between a new line, a CRLF, a space and a blank line, as the loaders split on any whitespace */
+	public static Path write(List<String> words) throws IOException {
+		Path path = Files.createTempFile("check-words", ".txt") ;
+		path.toFile().deleteOnExit() ;
+		String[] separators = { "\n", "\r\n", " ", "\n\n" } ;
+		try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			for(int i=0 ; i<words.size() ; i++) {
+				writer.write(words.get(i)) ;
+				writer.write(separators[i % separators.length]) ;
+			}
+		}
+		return path ;
+	}
+
+	// This method returns a temporary path for a file written by a check, deleted when the JVM exits
+	public static Path tempPath(String suffix) throws IOException {
+		Path path = Files.createTempFile("check", suffix) ;
+		path.toFile().deleteOnExit() ;
+		return path ;
+	}
+
+	// This method returns a word of the given length made of random characters of the alphabet
+	private static String randomWord(Random random, String alphabet, int length) {
+		char[] chars = new char[length] ;
+		for(int i=0 ; i<length ; i++) {
+			chars[i] = alphabet.charAt(random.nextInt(alphabet.length())) ;
+		}
+		return new String(chars) ;
+	}
+}
@@ -0,0 +1,88 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import common.Checks;
+import common.ConcatenationOracle;
+import common.WordLists;
+
+/* This class checks the incremental index against a full recompute by the brute-force oracle
+ * The index of every generated list gets random additions and removals: new compounds, new short words,
+ * removed base words and words added again after their removal, so the ids are reused
+ * Every few steps, the count and the longest words are compared with the oracle of the current words */
+public class ConcatenatedWordsIndexCheck {
+
+	private static final int STEPS = 200 ;
+	private static final int COMPARE_EVERY = 5 ;		// Steps between two recomputes. A wrong update stays wrong until then
+	private static final int OUTPUT_SIZE = 5 ;
+
+	public static void main(String[] args) throws IOException {
+		long seed = 16 ;
+		for(List<String> words : WordLists.all()) {
+			Random random = new Random(seed++) ;
+			ConcatenatedWordsIndex index = ConcatenatedWordsIndex.load(WordLists.write(words).toString()) ;
+			List<String> current = new ArrayList<>(new HashSet<>(words)) ;
+			List<String> removed = new ArrayList<>() ;
+			compare("load", index, current) ;
+			for(int step=0 ; step<STEPS ; step++) {
+				int action = random.nextInt(4) ;
+				String word ;
+				if(action == 0 && ! current.isEmpty()) {
+					word = current.remove(random.nextInt(current.size())) ;
+					Checks.isTrue("remove " + word, index.removeWord(word)) ;
+					removed.add(word) ;
+				}
+				else if(action == 1 && ! removed.isEmpty()) {
+					word = removed.remove(random.nextInt(removed.size())) ;
+					Checks.isTrue("add again " + word, index.addWord(word)) ;
+					current.add(word) ;
+				}
+				else {
+					word = newWord(random, words) ;
+					boolean present = current.contains(word) ;
+					Checks.equal("add " + word, ! present, index.addWord(word)) ;
+					if(! present) {
+						current.add(word) ;
+						removed.remove(word) ;
+					}
+				}
+				if(step % COMPARE_EVERY == COMPARE_EVERY - 1) {
+					compare("step " + step + " (" + word + ")", index, current) ;
+				}
+			}
+			Checks.isTrue("remove absent", ! index.removeWord("#absent#")) ;
+		}
+		Checks.done("ConcatenatedWordsIndexCheck") ;
+	}
+
+	/* This method returns a compound of two or three words of the list, or a piece of one of up to three characters
+	 * The words of the list are used rather than the current words, so the compounds do not grow step after step */
+	private static String newWord(Random random, List<String> words) {
+		String word = words.get(random.nextInt(words.size())) ;
+		if(random.nextInt(3) == 0) {
+			int length = 1 + random.nextInt(Math.min(3, word.length())) ;
+			int start = random.nextInt(word.length() - length + 1) ;
+			return word.substring(start, start + length) ;
+		}
+		StringBuilder compound = new StringBuilder(word) ;
+		for(int i = 1 + random.nextInt(2) ; i>0 ; i--) {
+			compound.append(words.get(random.nextInt(words.size()))) ;
+		}
+		return compound.toString() ;
+	}
+
+	// This method compares the index with the oracle of the current words
+	private static void compare(String name, ConcatenatedWordsIndex index, List<String> current) {
+		ConcatenationOracle oracle = new ConcatenationOracle(current) ;
+		Checks.equal(name + " word count", current.size(), index.getWordCount()) ;
+		Checks.equal(name + " count", oracle.getCount(), (long) index.getCount()) ;
+		Checks.equal(name + " longest", oracle.getLongest(OUTPUT_SIZE), index.getLongest(OUTPUT_SIZE)) ;
+		for(String word : oracle.getConcatenated()) {
+			Checks.isTrue(name + " isConcatenated " + word, index.isConcatenated(word)) ;
+		}
+	}
+}
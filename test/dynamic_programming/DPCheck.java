@@ -0,0 +1,107 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.util.List;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import common.FinderConfig;
+import common.FinderResult;
+import common.TopKCollector;
+import common.WordLists;
+
+/* This class checks the DP engine against the brute-force oracle on the generated word lists
+ * Every list is checked in both modes, with the three dictionaries (HashSet, byte arena, compiled dictionary),
+ * on one and three threads, with and without -topOnly, the suffix cache and an exact Bloom filter
+ * The arrival tie-break, the approximate Bloom filter and find(FinderConfig) are checked once per list
+ * The arrival ties of two to four threads, which also load the file in parallel, must be those of one thread */
+public class DPCheck {
+
+	private static final int OUTPUT_SIZE = 5 ;			// More than two, so the ties of the lists are reached
+	private static final int ARRIVAL_SIZE = 20 ;			// Reaches many ties of equal length
+	private static final String[] STORAGES = { "hashset", "arena", "compiled" } ;
+
+	public static void main(String[] args) throws IOException {
+		for(CheckInput list : CheckInput.all()) {
+			List<String> words = list.getWords() ;
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			for(CheckMode mode : CheckMode.values()) {
+				for(String storage : STORAGES) {
+					String input = storage.equals("compiled") ? dictionary : path ;
+					for(int threads=1 ; threads<=3 ; threads+=2) {
+						for(int cache=0 ; cache<=64 ; cache+=64) {
+							check(oracle, input, mode, storage, threads, false, cache, 0) ;
+							check(oracle, input, mode, storage, threads, true, cache, 0) ;
+							check(oracle, input, mode, storage, threads, false, cache, 0.01) ;
+						}
+					}
+				}
+			}
+			
+			ConcatenatedWordsFinder_DP arrival = new ConcatenatedWordsFinder_DP(CheckMode.LINEAR, 1, false, OUTPUT_SIZE, TopKCollector.TieBreak.ARRIVAL) ;
+			Checks.arrivalResult("DP arrival", oracle, OUTPUT_SIZE, arrival.run(path)) ;
+			checkArrivalThreads(path, dictionary) ;
+			
+			// A false positive of the filter can only add words, never lose one
+			ConcatenatedWordsFinder_DP approximate = newFinder(CheckMode.LINEAR, 1, false) ;
+			approximate.setBloomFilter(0.01, true) ;
+			Checks.isTrue("DP approximate count", approximate.run(path).getCount() >= oracle.getCount()) ;
+			
+			FinderConfig config = new FinderConfig(path) ;
+			config.setOutputSize(OUTPUT_SIZE) ;
+			Checks.result("DP find", oracle, OUTPUT_SIZE, false, ConcatenatedWordsFinder_DP.find(config)) ;
+		}
+		checkArrivalThreads(WordLists.write(WordLists.equalHashes(5L, 6)).toString(), null) ;
+		Checks.done("DPCheck") ;
+	}
+
+	// This method runs one configuration of the finder and compares it with the oracle
+	private static void check(ConcatenationOracle oracle, String path, CheckMode mode, String storage, int threads, boolean topOnly, int cache, double bloom) throws IOException {
+		String name = "DP " + mode + " " + storage + " threads=" + threads + (topOnly ? " topOnly" : "") + " cache=" + cache + " bloom=" + bloom ;
+		ConcatenatedWordsFinder_DP finder = newFinder(mode, threads, topOnly) ;
+		finder.setCacheCapacity(cache) ;
+		finder.setBloomFilter(bloom, false) ;
+		if(storage.equals("arena")) {
+			finder.useArena() ;
+		}
+		Checks.result(name, oracle, OUTPUT_SIZE, topOnly, finder.run(path)) ;
+	}
+
+	/* This method checks that the arrival tie-break does not depend on the thread count
+	 * With more than one thread the HashSet is filled by the parallel load, which must keep the order of the sequential load
+	 * Without a compiled dictionary, only the word list is checked */
+	private static void checkArrivalThreads(String path, String dictionary) throws IOException {
+		for(String storage : STORAGES) {
+			if(storage.equals("compiled") && dictionary == null) {
+				continue ;
+			}
+			String input = storage.equals("compiled") ? dictionary : path ;
+			for(int topOnly=0 ; topOnly<2 ; topOnly++) {
+				FinderResult sequential = arrivalRun(input, storage, 1, topOnly == 1) ;
+				for(int threads=2 ; threads<=4 ; threads++) {
+					String name = "DP arrival " + storage + " threads=" + threads + ((topOnly == 1) ? " topOnly" : "") ;
+					FinderResult parallel = arrivalRun(input, storage, threads, topOnly == 1) ;
+					Checks.equal(name + " count", sequential.getCount(), parallel.getCount()) ;
+					Checks.equal(name + " longest", sequential.getLongestWords(), parallel.getLongestWords()) ;
+				}
+			}
+		}
+	}
+
+	// Runs the LINEAR mode with the arrival tie-break on the given dictionary
+	private static FinderResult arrivalRun(String path, String storage, int threads, boolean topOnly) throws IOException {
+		ConcatenatedWordsFinder_DP finder = new ConcatenatedWordsFinder_DP(CheckMode.LINEAR, threads, topOnly, ARRIVAL_SIZE, TopKCollector.TieBreak.ARRIVAL) ;
+		if(storage.equals("arena")) {
+			finder.useArena() ;
+		}
+		return finder.run(path) ;
+	}
+
+	// Creates a finder of the longest words with the default tie-break
+	private static ConcatenatedWordsFinder_DP newFinder(CheckMode mode, int threads, boolean topOnly) {
+		return new ConcatenatedWordsFinder_DP(mode, threads, topOnly, OUTPUT_SIZE, TopKCollector.TieBreak.LEXICOGRAPHIC) ;
+	}
+}
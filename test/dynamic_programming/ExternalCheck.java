@@ -0,0 +1,62 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import common.FinderConfig;
+import common.TopKCollector;
+
+/* This class checks the out-of-core engine against the brute-force oracle on the generated word lists
+ * The runs hold 3, 50 and the default number of words. With 3 words, a list gives more runs than
+ * ExternalSorter.FAN_IN, so the runs are merged in more than one pass
+ * Every run uses its own temporary directory, which must be empty again afterwards */
+public class ExternalCheck {
+
+	private static final int OUTPUT_SIZE = 5 ;
+	private static final int[] RUN_WORDS = { 3, 50, ConcatenatedWordsFinder_External.DEFAULT_RUN_WORDS } ;
+
+	public static void main(String[] args) throws IOException {
+		for(CheckInput list : CheckInput.all()) {
+			List<String> words = list.getWords() ;
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			for(int runWords : RUN_WORDS) {
+				check("External runWords=" + runWords, oracle, path, runWords, TopKCollector.TieBreak.LEXICOGRAPHIC) ;
+				check("External compiled runWords=" + runWords, oracle, dictionary, runWords, TopKCollector.TieBreak.LEXICOGRAPHIC) ;
+				// The words reach the output in sorted order, so the arrival tie-break gives the same list
+				check("External arrival runWords=" + runWords, oracle, path, runWords, TopKCollector.TieBreak.ARRIVAL) ;
+			}
+			
+			Path directory = Files.createTempDirectory("check-external") ;
+			FinderConfig config = new FinderConfig(path) ;
+			config.setOutputSize(OUTPUT_SIZE) ;
+			config.setTempDirectory(directory) ;
+			Checks.result("External find", oracle, OUTPUT_SIZE, false, ConcatenatedWordsFinder_External.find(config)) ;
+			checkEmpty("External find", directory) ;
+		}
+		Checks.done("ExternalCheck") ;
+	}
+
+	// This method runs the finder in a new temporary directory, compares it with the oracle and checks the directory is left empty
+	private static void check(String name, ConcatenationOracle oracle, String path, int runWords, TopKCollector.TieBreak tieBreak) throws IOException {
+		Path directory = Files.createTempDirectory("check-external") ;
+		ConcatenatedWordsFinder_External finder = new ConcatenatedWordsFinder_External(directory, runWords, OUTPUT_SIZE, tieBreak) ;
+		Checks.result(name, oracle, OUTPUT_SIZE, false, finder.run(path)) ;
+		checkEmpty(name, directory) ;
+	}
+
+	// This method checks that the runs and the index files were deleted, and deletes the directory
+	private static void checkEmpty(String name, Path directory) throws IOException {
+		try(Stream<Path> files = Files.list(directory)) {
+			Checks.equal(name + " files left", 0L, files.count()) ;
+		}
+		Files.delete(directory) ;
+	}
+}
@@ -0,0 +1,84 @@
+package dynamic_programming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+
+/* This class checks the Segmenter against the brute-force oracle on the generated word lists
+ * The tokens are the words of the list, new compounds of its words and random strings of its characters
+ * Every token is split with the three strategies, by a Segmenter over the words, over the file and over the compiled file */
+public class SegmenterCheck {
+
+	public static void main(String[] args) throws IOException {
+		long seed = 18 ;
+		for(CheckInput list : CheckInput.all()) {
+			List<String> words = list.getWords() ;
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			List<String> tokens = tokens(words, new Random(seed++)) ;
+			check("Segmenter words", new Segmenter(words), oracle, tokens) ;
+			check("Segmenter file", Segmenter.load(path), oracle, tokens) ;
+			check("Segmenter compiled", Segmenter.load(dictionary), oracle, tokens) ;
+		}
+		Checks.done("SegmenterCheck") ;
+	}
+
+	// This method returns the words, compounds of two or three words and random strings of the characters of the words
+	public static List<String> tokens(List<String> words, Random random) {
+		List<String> tokens = new ArrayList<>(words) ;
+		StringBuilder characters = new StringBuilder() ;
+		for(String word : words) {
+			characters.append(word) ;
+		}
+		StringBuilder token = new StringBuilder() ;
+		for(int i=0 ; i<words.size() ; i++) {
+			token.setLength(0) ;
+			for(int j = 2 + random.nextInt(2) ; j>0 ; j--) {
+				token.append(words.get(random.nextInt(words.size()))) ;
+			}
+			tokens.add(token.toString()) ;
+			token.setLength(0) ;
+			for(int j = 1 + random.nextInt(12) ; j>0 ; j--) {
+				token.append(characters.charAt(random.nextInt(characters.length()))) ;
+			}
+			tokens.add(token.toString()) ;
+		}
+		return tokens ;
+	}
+
+	// This method splits every token with the three strategies and compares the answers with the oracle
+	private static void check(String name, Segmenter segmenter, ConcatenationOracle oracle, List<String> tokens) {
+		for(String token : tokens) {
+			Checks.equal(name + " isConcatenated " + token, oracle.isConcatenated(token), segmenter.isConcatenated(token)) ;
+			for(SegmentationStrategy strategy : SegmentationStrategy.values()) {
+				compare(name + " " + strategy, oracle, strategy, segmenter.segment(token, strategy)) ;
+			}
+		}
+	}
+
+	/* This method compares one answer with the oracle
+	 * The parts must be words that make up the token. Their number is the fewest for MIN_PARTS,
+	 * and the count of splits is only given by COUNT_ALL */
+	public static void compare(String name, ConcatenationOracle oracle, SegmentationStrategy strategy, Segmentation answer) {
+		String token = answer.getToken() ;
+		name = name + " " + token ;
+		Checks.equal(name + " concatenated", oracle.isConcatenated(token), answer.isConcatenated()) ;
+		if(answer.isConcatenated()) {
+			Checks.isTrue(name + " two parts at least", answer.getParts().size() >= 2) ;
+			Checks.equal(name + " joined parts", token, String.join("", answer.getParts())) ;
+			for(String part : answer.getParts()) {
+				Checks.isTrue(name + " part " + part, oracle.isWord(part)) ;
+			}
+		}
+		if(strategy == SegmentationStrategy.MIN_PARTS && answer.isConcatenated()) {
+			Checks.equal(name + " fewest parts", oracle.minParts(token), answer.getParts().size()) ;
+		}
+		Checks.equal(name + " splits", (strategy == SegmentationStrategy.COUNT_ALL) ? oracle.countSplits(token) : -1L, answer.getCount()) ;
+	}
+}
@@ -0,0 +1,28 @@
+package engine;
+
+import aho_corasick.AhoCorasickCheck;
+import common.Checks;
+import dynamic_programming.ConcatenatedWordsIndexCheck;
+import dynamic_programming.DPCheck;
+import dynamic_programming.ExternalCheck;
+import dynamic_programming.SegmenterCheck;
+import service.SegmentationServiceCheck;
+import suffixtree.PrefixTreeCheck;
+
+/* This class runs every check of the test folder in one JVM
+ * The first failed assertion stops the run with its AssertionError */
+public class AllChecks {
+
+	public static void main(String[] args) throws Exception {
+		DPCheck.main(args) ;
+		PrefixTreeCheck.main(args) ;
+		AhoCorasickCheck.main(args) ;
+		ExternalCheck.main(args) ;
+		ConcatenatedWordsIndexCheck.main(args) ;
+		SegmenterCheck.main(args) ;
+		SegmentationServiceCheck.main(args) ;
+		EngineCheck.main(args) ;
+		BatchRunnerCheck.main(args) ;
+		System.out.println("AllChecks: " + Checks.getPassed() + " assertions passed") ;
+	}
+}
@@ -0,0 +1,76 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import common.FinderConfig;
+import common.WordLists;
+
+/* This class checks the batch pipeline against the brute-force oracle
+ * One batch holds every generated list, its compiled dictionary and a missing file, run by one and by three workers
+ * with the automatic choice and with the DP engine. Every file must get one line: the result of the oracle,
+ * or an ERROR line for the missing file, which must not stop the other files */
+public class BatchRunnerCheck {
+
+	private static final int OUTPUT_SIZE = 5 ;
+
+	public static void main(String[] args) throws IOException {
+		List<String> paths = new ArrayList<>() ;
+		List<ConcatenationOracle> oracles = new ArrayList<>() ;			// The oracle of every path, null for the missing file
+		for(CheckInput list : CheckInput.all()) {
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			paths.add(path) ;
+			oracles.add(oracle) ;
+			paths.add(dictionary) ;
+			oracles.add(oracle) ;
+		}
+		Path missing = WordLists.tempPath(".txt") ;
+		Files.delete(missing) ;
+		paths.add(missing.toString()) ;
+		oracles.add(null) ;
+		
+		for(String engineName : new String[] { "auto", "dp" }) {
+			for(int workers=1 ; workers<=3 ; workers+=2) {
+				String name = "BatchRunner " + engineName + " workers=" + workers ;
+				FinderConfig options = new FinderConfig("") ;
+				options.setOutputSize(OUTPUT_SIZE) ;
+				BatchRunner runner = new BatchRunner(options, engineName, workers) ;
+				Path output = WordLists.tempPath(".tsv") ;
+				runner.run(paths, output) ;
+				Checks.equal(name + " errors", 1, runner.getErrors()) ;
+				
+				List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8) ;
+				Checks.equal(name + " lines", paths.size() + 1, lines.size()) ;
+				boolean[] seen = new boolean[paths.size()] ;
+				for(String line : lines.subList(1, lines.size())) {
+					String[] fields = line.split("\t", -1) ;
+					int index = Integer.parseInt(fields[0]) ;
+					Checks.isTrue(name + " one line for " + index, ! seen[index]) ;
+					seen[index] = true ;
+					Checks.equal(name + " path " + index, paths.get(index), fields[1]) ;
+					ConcatenationOracle oracle = oracles.get(index) ;
+					if(oracle == null) {
+						Checks.equal(name + " status " + index, "ERROR", fields[2]) ;
+						continue ;
+					}
+					Checks.equal(name + " status " + index, "OK", fields[2]) ;
+					Checks.equal(name + " count " + index, oracle.getCount(), Long.parseLong(fields[4])) ;
+					List<String> longest = fields[6].isEmpty() ? Collections.<String>emptyList() : Arrays.asList(fields[6].split(" ")) ;
+					Checks.equal(name + " longest " + index, oracle.getLongest(OUTPUT_SIZE), longest) ;
+				}
+			}
+		}
+		Checks.done("BatchRunnerCheck") ;
+	}
+}
@@ -0,0 +1,111 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import common.FinderConfig;
+import common.WordLists;
+import suffixtree.MappedTrie;
+
+/* This class checks the common interface against the brute-force oracle on the generated word lists
+ * Every Engine and the AutoFinder run on the word list and the compiled dictionary, on one and two threads,
+ * with and without -topOnly. The external engine always computes the count, so it is only run without -topOnly
+ * The AutoFinder must send a compiled dictionary to DP, and every input to the external engine under a tiny budget
+ * A word list starting with the printable magic of older dictionaries must still be read as words
+ * The sample of a file larger than the sampling windows must include the last word of the file */
+public class EngineCheck {
+
+	private static final int OUTPUT_SIZE = 5 ;
+
+	public static void main(String[] args) throws IOException {
+		AutoFinder auto = new AutoFinder() ;
+		for(CheckInput list : CheckInput.all()) {
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			for(String input : new String[] { path, dictionary }) {
+				String kind = input.equals(dictionary) ? " compiled" : " list" ;
+				for(int threads=1 ; threads<=2 ; threads++) {
+					for(int topOnly=0 ; topOnly<2 ; topOnly++) {
+						FinderConfig config = new FinderConfig(input) ;
+						config.setOutputSize(OUTPUT_SIZE) ;
+						config.setThreads(threads) ;
+						config.setTopOnly(topOnly == 1) ;
+						String options = kind + " threads=" + threads + ((topOnly == 1) ? " topOnly" : "") ;
+						for(Engine engine : Engine.values()) {
+							if(engine != Engine.EXTERNAL || topOnly == 0) {
+								Checks.result(engine + options, oracle, OUTPUT_SIZE, topOnly == 1, engine.find(config)) ;
+							}
+						}
+						AutoFinder.Choice choice = AutoFinder.choose(InputStatistics.sample(input), config) ;
+						boolean external = choice.getEngine() == Engine.EXTERNAL ;	// Ignores -topOnly
+						Checks.result("AutoFinder" + options, oracle, OUTPUT_SIZE, topOnly == 1 && ! external, auto.find(config)) ;
+						if(input.equals(dictionary)) {
+							Checks.equal("AutoFinder" + options + " engine", Engine.DP, choice.getEngine()) ;
+						}
+					}
+				}
+			}
+			
+			FinderConfig small = new FinderConfig(path) ;
+			small.setOutputSize(OUTPUT_SIZE) ;
+			small.setHeapBudget(1) ;
+			Checks.equal("AutoFinder budget engine", Engine.EXTERNAL, AutoFinder.choose(InputStatistics.sample(path), small).getEngine()) ;
+			Checks.result("AutoFinder budget", oracle, OUTPUT_SIZE, false, auto.find(small)) ;
+		}
+		checkMagicPrefix(auto) ;
+		checkSampleEnd() ;
+		Checks.done("EngineCheck") ;
+	}
+
+	/* This method samples a file of short words ending with a longer word of other characters, without a newline after it
+	 * The size leaves a remainder when the span of the windows is divided by their number, so an early rounding ends the last window short of the file */
+	private static void checkSampleEnd() throws IOException {
+		StringBuilder text = new StringBuilder() ;
+		while(text.length() < 1400000 || (text.length() + 40 - 65536) % 15 == 0) {
+			text.append("abc ab\n") ;
+		}
+		text.append("xyzxyzxyzxyzxyzxyzxyzxyzxyzxyzxyzxyzxyzx") ;		// 40 characters
+		Path path = WordLists.tempPath(".txt") ;
+		Files.write(path, text.toString().getBytes(StandardCharsets.UTF_8)) ;
+		InputStatistics statistics = InputStatistics.sample(path.toString()) ;
+		Checks.equal("sample longest word at the end of the file", 40, statistics.getMaxLength()) ;
+		Checks.equal("sample alphabet with the end of the file", 6, statistics.getAlphabetSize()) ;
+	}
+
+	/* This method runs every engine on a word list whose first word starts with "CWDT", the magic of versions 1 and 2
+	 * of the compiled format, and checks that a file of version 2 is still recognised and rejected with a clear error */
+	private static void checkMagicPrefix(AutoFinder auto) throws IOException {
+		List<String> words = Arrays.asList("CWDTab", "CWDT", "ab", "abCWDT", "CWDTCWDTab", "ba", "abba", "CWDTx") ;
+		ConcatenationOracle oracle = new ConcatenationOracle(words) ;
+		String path = WordLists.write(words).toString() ;
+		Checks.isTrue("CWDT list not compiled", ! MappedTrie.isCompiled(path) && ! InputStatistics.sample(path).isCompiled()) ;
+		FinderConfig config = new FinderConfig(path) ;
+		config.setOutputSize(OUTPUT_SIZE) ;
+		for(Engine engine : Engine.values()) {
+			Checks.result(engine + " CWDT list", oracle, OUTPUT_SIZE, false, engine.find(config)) ;
+		}
+		Checks.result("AutoFinder CWDT list", oracle, OUTPUT_SIZE, false, auto.find(config)) ;
+		
+		Path legacy = WordLists.tempPath(".dict") ;
+		byte[] header = new byte[24] ;
+		System.arraycopy(new byte[] { 'C', 'W', 'D', 'T', 0, 0, 0, 2 }, 0, header, 0, 8) ;
+		Files.write(legacy, header) ;
+		Checks.isTrue("version 2 dictionary compiled", MappedTrie.isCompiled(legacy.toString())) ;
+		String message = "" ;
+		try {
+			MappedTrie.open(legacy.toString()) ;
+		}
+		catch(IOException e) {
+			message = e.getMessage() ;
+		}
+		Checks.isTrue("version 2 dictionary rejected: " + message, message.contains("compile the word list again")) ;
+	}
+}
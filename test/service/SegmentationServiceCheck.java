@@ -0,0 +1,43 @@
+package service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import dynamic_programming.Segmentation;
+import dynamic_programming.SegmentationStrategy;
+import dynamic_programming.SegmenterCheck;
+
+/* This class checks the batch API of the query service against the brute-force oracle
+ * The batches are larger than MIN_PARALLEL_BATCH, so they are cut into slices for the workers
+ * The answers must come back in the order of the tokens, with one worker and with four */
+public class SegmentationServiceCheck {
+
+	public static void main(String[] args) throws IOException {
+		long seed = 17 ;
+		for(CheckInput list : CheckInput.all()) {
+			List<String> words = list.getWords() ;
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			List<String> tokens = SegmenterCheck.tokens(words, new Random(seed++)) ;
+			for(SegmentationStrategy strategy : SegmentationStrategy.values()) {
+				for(int workers=1 ; workers<=4 ; workers*=4) {
+					String name = "SegmentationService " + strategy + " workers=" + workers ;
+					try(SegmentationService service = SegmentationService.load(path, workers, strategy)) {
+						List<Segmentation> answers = service.segmentAll(tokens) ;
+						Checks.equal(name + " answers", tokens.size(), answers.size()) ;
+						for(int i=0 ; i<tokens.size() ; i++) {
+							Checks.equal(name + " order", tokens.get(i), answers.get(i).getToken()) ;
+							SegmenterCheck.compare(name, oracle, strategy, answers.get(i)) ;
+						}
+						SegmenterCheck.compare(name + " single", oracle, strategy, service.segment(tokens.get(0))) ;
+					}
+				}
+			}
+		}
+		Checks.done("SegmentationServiceCheck") ;
+	}
+}
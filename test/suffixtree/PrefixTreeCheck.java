@@ -0,0 +1,177 @@
+package suffixtree;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import common.CheckInput;
+import common.Checks;
+import common.ConcatenationOracle;
+import common.FinderConfig;
+import common.FinderResult;
+import common.TopKCollector;
+import common.WordLists;
+
+/* This class checks the PrefixTree engine and its tries against the brute-force oracle on the generated word lists
+ * The finder runs with both tries and the compiled dictionary, on one and three threads, with and without -topOnly
+ * The lookups of TrieNode, CompactTrie and MappedTrie are compared with the oracle word by word
+ * Both in-memory tries are also visited with a word far longer than the stack depth of a recursive traversal
+ * The limit of a WordTable at Integer.MAX_VALUE characters is checked on its arithmetic, as the input would not fit the heap */
+public class PrefixTreeCheck {
+
+	private static final int OUTPUT_SIZE = 5 ;
+	private static final int ARRIVAL_SIZE = 20 ;			// Reaches many ties of equal length
+	private static final int DEEP_LENGTH = 200000 ;		// Far more characters than a thread stack has frames for
+
+	public static void main(String[] args) throws IOException {
+		for(CheckInput list : CheckInput.all()) {
+			List<String> words = list.getWords() ;
+			ConcatenationOracle oracle = list.getOracle() ;
+			String path = list.getPath() ;
+			String dictionary = list.getDictionary() ;
+			for(int threads=1 ; threads<=3 ; threads+=2) {
+				for(int topOnly=0 ; topOnly<2 ; topOnly++) {
+					check(oracle, path, "compact", true, threads, topOnly == 1) ;
+					check(oracle, path, "node", false, threads, topOnly == 1) ;
+					check(oracle, dictionary, "compiled", true, threads, topOnly == 1) ;
+				}
+			}
+			
+			ConcatenatedWordsFinder_PrefixTree arrival = new ConcatenatedWordsFinder_PrefixTree(true, 1, false, OUTPUT_SIZE, TopKCollector.TieBreak.ARRIVAL) ;
+			Checks.arrivalResult("PrefixTree arrival", oracle, OUTPUT_SIZE, arrival.run(path)) ;
+			checkArrivalThreads(path) ;
+			checkArrivalThreads(dictionary) ;
+			
+			FinderConfig config = new FinderConfig(path) ;
+			config.setOutputSize(OUTPUT_SIZE) ;
+			Checks.result("PrefixTree find", oracle, OUTPUT_SIZE, false, ConcatenatedWordsFinder_PrefixTree.find(config)) ;
+			
+			TrieNode node = new TrieNode('*') ;
+			CompactTrie compact = new CompactTrie() ;
+			for(String word : words) {
+				node.insertWord(word) ;
+				compact.insertWord(word) ;
+			}
+			checkLookups("TrieNode", node, oracle, words) ;
+			checkLookups("CompactTrie", compact, oracle, words) ;
+			checkLookups("MappedTrie", MappedTrie.open(dictionary), oracle, words) ;
+			node.freeze() ;
+			compact.freeze() ;
+			WordTable compiled = WordTable.of(MappedTrie.open(dictionary)) ;
+			checkWordTable("TrieNode", WordTable.of(node), oracle) ;
+			checkWordTable("CompactTrie", WordTable.of(compact), oracle) ;
+			checkWordTable("MappedTrie", compiled, oracle) ;
+			WordTable built = WordTable.of(compact) ;
+			for(int id=0 ; id<built.size() ; id++) {
+				Checks.equal("WordTable id " + id + " of the compiled dictionary", built.word(id), compiled.word(id)) ;
+			}
+		}
+		checkArrivalThreads(WordLists.write(WordLists.equalHashes(5L, 6)).toString()) ;
+		checkDeepTrie("TrieNode", new TrieNode('*')) ;
+		checkDeepTrie("CompactTrie", new CompactTrie()) ;
+		checkTableLimit() ;
+		Checks.done("PrefixTreeCheck") ;
+	}
+
+	// This method runs one configuration of the finder and compares it with the oracle
+	private static void check(ConcatenationOracle oracle, String path, String trie, boolean compactTrie, int threads, boolean topOnly) throws IOException {
+		String name = "PrefixTree " + trie + " threads=" + threads + (topOnly ? " topOnly" : "") ;
+		ConcatenatedWordsFinder_PrefixTree finder = new ConcatenatedWordsFinder_PrefixTree(compactTrie, threads, topOnly, OUTPUT_SIZE, TopKCollector.TieBreak.LEXICOGRAPHIC) ;
+		Checks.result(name, oracle, OUTPUT_SIZE, topOnly, finder.run(path)) ;
+	}
+
+	/* This method checks that the arrival tie-break does not depend on the thread count
+	 * With more than one thread the file is loaded in parallel, and the words must get the ids of the sequential load */
+	private static void checkArrivalThreads(String path) throws IOException {
+		for(int topOnly=0 ; topOnly<2 ; topOnly++) {
+			for(int compactTrie=0 ; compactTrie<2 ; compactTrie++) {
+				FinderResult sequential = arrivalRun(path, compactTrie == 1, 1, topOnly == 1) ;
+				for(int threads=2 ; threads<=4 ; threads++) {
+					String name = "PrefixTree arrival " + ((compactTrie == 1) ? "compact" : "node") + " threads=" + threads + ((topOnly == 1) ? " topOnly" : "") ;
+					FinderResult parallel = arrivalRun(path, compactTrie == 1, threads, topOnly == 1) ;
+					Checks.equal(name + " count", sequential.getCount(), parallel.getCount()) ;
+					Checks.equal(name + " longest", sequential.getLongestWords(), parallel.getLongestWords()) ;
+				}
+			}
+		}
+	}
+
+	// Runs the finder with the arrival tie-break
+	private static FinderResult arrivalRun(String path, boolean compactTrie, int threads, boolean topOnly) throws IOException {
+		return new ConcatenatedWordsFinder_PrefixTree(compactTrie, threads, topOnly, ARRIVAL_SIZE, TopKCollector.TieBreak.ARRIVAL).run(path) ;
+	}
+
+	// This method checks that the table holds every word of the list once, by decreasing length, and that its ranges match the words
+	private static void checkWordTable(String name, WordTable table, ConcatenationOracle oracle) {
+		Checks.equal(name + " WordTable size", oracle.getWordCount(), table.size()) ;
+		HashSet<String> unique = new HashSet<>() ;
+		for(int id=0 ; id<table.size() ; id++) {
+			Checks.isTrue(name + " WordTable word " + id + " once", unique.add(table.word(id))) ;
+			Checks.isTrue(name + " WordTable word " + id, oracle.isWord(table.word(id)) && table.length(id) == table.word(id).length()) ;
+			Checks.isTrue(name + " WordTable order " + id, id == 0 || table.length(id - 1) >= table.length(id)) ;
+		}
+	}
+
+	/* This method checks the limit of a WordTable at Integer.MAX_VALUE characters, without allocating them
+	 * The last word that fits ends at Integer.MAX_VALUE, one more character must be rejected instead of wrapping around */
+	private static void checkTableLimit() {
+		Checks.equal("WordTable end at the limit", Integer.MAX_VALUE, WordTable.checkedEnd(Integer.MAX_VALUE - 28, 28)) ;
+		boolean rejected = false ;
+		try {
+			WordTable.checkedEnd(Integer.MAX_VALUE - 27, 28) ;
+		}
+		catch(IllegalArgumentException e) {
+			rejected = true ;
+		}
+		Checks.isTrue("WordTable end over the limit is rejected", rejected) ;
+	}
+
+	/* This method inserts a word of DEEP_LENGTH characters and some of its prefixes, then visits and looks them up
+	 * A traversal recursing once per character overflows the stack on this Trie */
+	private static void checkDeepTrie(String name, Trie trie) {
+		char[] chars = new char[DEEP_LENGTH] ;
+		for(int i=0 ; i<DEEP_LENGTH ; i++) {
+			chars[i] = (char) ('a' + i % 3) ;
+		}
+		String deep = new String(chars) ;
+		List<String> words = Arrays.asList(deep, deep.substring(0, DEEP_LENGTH / 2), "abc", "a") ;
+		for(String word : words) {
+			trie.insertWord(word) ;
+		}
+		trie.freeze() ;
+		List<String> visited = new ArrayList<>() ;
+		trie.forEachWord(visited::add) ;
+		List<String> expected = new ArrayList<>(words) ;
+		Collections.sort(expected) ;
+		Collections.sort(visited) ;
+		Checks.equal(name + " deep forEachWord", expected, visited) ;
+		Checks.isTrue(name + " deep containsWord", trie.containsWord(deep) && ! trie.containsWord(deep, 0, DEEP_LENGTH - 1)) ;
+		int[] offsets = new int[DEEP_LENGTH] ;
+		Checks.equal(name + " deep suffix count", 3, trie.getSuffixOffsets(deep, 0, offsets)) ;
+		Checks.equal(name + " deep suffixes", Arrays.asList(1, 3, DEEP_LENGTH / 2), Arrays.asList(offsets[0], offsets[1], offsets[2])) ;
+	}
+
+	/* This method compares the lookups of the Trie with the oracle for every word of the list
+	 * The word is also looked up as a range of a longer sequence, as the finder does on its WordTable */
+	private static void checkLookups(String name, Trie trie, ConcatenationOracle oracle, List<String> words) {
+		for(String word : words) {
+			String padded = "#" + word + "#" ;
+			Checks.isTrue(name + " containsWord " + word, trie.containsWord(word) && trie.containsWord(padded, 1, word.length() + 1)) ;
+			Checks.isTrue(name + " containsWord prefix " + word, trie.containsWord(word, 0, word.length() - 1) == oracle.isWord(word.substring(0, word.length() - 1))) ;
+			int[] offsets = new int[word.length() + 2] ;
+			int count = trie.getSuffixOffsets(padded, 1, word.length() + 1, offsets) ;
+			int expected = 0 ;
+			for(int end=1 ; end<word.length() ; end++) {
+				if(oracle.isWord(word.substring(0, end))) {
+					Checks.equal(name + " suffix " + expected + " of " + word, end + 1, offsets[expected]) ;
+					expected++ ;
+				}
+			}
+			Checks.equal(name + " suffix count of " + word, expected, count) ;
+			Checks.equal(name + " getSuffixes of " + word, expected, trie.getSuffixes(word).size()) ;
+		}
+	}
+}